@@ -4,6 +4,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main Spring Boot Application for EcoBazaarX Backend
@@ -14,6 +15,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
  * - JWT authentication
  * - Caching support
  * - Async processing
+ * - Scheduled maintenance jobs
  * - Health monitoring
  * 
  * @author EcoBazaarX Team
@@ -21,6 +23,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
  */
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
 public class EcoBazaarXApplication {
 
     public static void main(String[] args) {
@@ -1,14 +1,21 @@
 package com.ecobazaar.backend.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
 
 /**
  * Cache Configuration Class
- * 
+ *
  * Provides cache manager bean for Spring Boot caching functionality
  * in the EcoBazaarX backend application.
  */
@@ -16,15 +23,34 @@ import org.springframework.context.annotation.Configuration;
 @EnableCaching
 public class CacheConfig {
 
+    public static final List<String> CACHE_NAMES = List.of(
+        "users", "products", "stores", "settings", "ecoChallenges", "userChallenges", "cartSummaries"
+    );
+
+    @Value("${spring.cache.caffeine.spec:maximumSize=500,expireAfterWrite=600s}")
+    private String defaultSpec;
+
+    @Autowired
+    private Environment environment;
+
     /**
-     * Configure cache manager using ConcurrentMapCacheManager
-     * 
+     * Configure a bounded Caffeine cache manager.
+     *
+     * Each cache takes its size/TTL from cache.specs.&lt;name&gt;, falling back to
+     * spring.cache.caffeine.spec. Statistics are recorded so Actuator publishes
+     * cache.gets / cache.puts / cache.evictions per cache. Puts and evictions made
+     * inside a transaction are applied only after it commits.
+     *
      * @return CacheManager instance
      */
     @Bean
     public CacheManager cacheManager() {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
-        cacheManager.setCacheNames(java.util.Arrays.asList("settings", "users", "products", "ecoChallenges", "userChallenges"));
-        return cacheManager;
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(Caffeine.from(defaultSpec).recordStats());
+        for (String cacheName : CACHE_NAMES) {
+            String spec = environment.getProperty("cache.specs." + cacheName, defaultSpec);
+            caffeineCacheManager.registerCustomCache(cacheName, Caffeine.from(spec).recordStats().build());
+        }
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
     }
 }
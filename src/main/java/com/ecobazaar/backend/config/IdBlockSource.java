@@ -0,0 +1,111 @@
+package com.ecobazaar.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * ID Block Source
+ *
+ * Reserves blocks of ids in the id_generators table for {@link PooledId}
+ * entities. Blocks are reserved on a small connection pool of their own, so
+ * fetching one never waits for the application pool: when every application
+ * connection is held by a transaction that needs a new block, the block can
+ * still be fetched and those transactions go on, instead of the pool
+ * deadlocking until its connection timeout.
+ *
+ * The source is handed to Hibernate as a setting, so it exists before any
+ * generator is created.
+ */
+@Component
+public class IdBlockSource implements HibernatePropertiesCustomizer {
+
+    public static final String SETTING = "ecobazaar.id_block_source";
+
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private final HikariDataSource dataSource;
+
+    public IdBlockSource(DataSourceProperties dataSourceProperties,
+                         @Value("${id-blocks.pool-size:2}") int poolSize) {
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("id-blocks");
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(0);
+        dataSource.setAutoCommit(false);
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(SETTING, this);
+    }
+
+    /**
+     * Reserve the next block of ids of a table in its own short transaction
+     *
+     * @return first id of the block; the block is [first, first + size)
+     */
+    public long reserve(String table, int size) {
+        try (Connection connection = dataSource.getConnection()) {
+            try {
+                if (advance(connection, table, size) == 0) {
+                    // First use of the table: start above the ids already in it
+                    seed(connection, table);
+                    advance(connection, table, size);
+                }
+                long end = currentValue(connection, table);
+                connection.commit();
+                return end - size;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not reserve ids for " + table + ": " + e.getMessage(), e);
+        }
+    }
+
+    private int advance(Connection connection, String table, int size) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE id_generators SET next_val = next_val + ? WHERE sequence_name = ?")) {
+            statement.setInt(1, size);
+            statement.setString(2, table);
+            return statement.executeUpdate();
+        }
+    }
+
+    private void seed(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO id_generators (sequence_name, next_val) SELECT ?, COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            statement.setString(1, table);
+            statement.executeUpdate();
+        }
+    }
+
+    private long currentValue(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT next_val FROM id_generators WHERE sequence_name = ?")) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("No id_generators row for " + table);
+                }
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecobazaar.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * ID Generator Initializer
+ *
+ * Entities take their ids from pooled blocks in the id_generators table
+ * ({@link PooledId}) instead of AUTO_INCREMENT, which lets Hibernate batch
+ * inserts. The table is created here, since no entity maps it. Tables created
+ * before the switch already hold rows, so on startup each generator row is
+ * moved past the current MAX(id) before any insert can run.
+ */
+@Component
+public class IdGeneratorInitializer {
+
+    private static final int ALLOCATION_SIZE = IdBlockSource.DEFAULT_ALLOCATION_SIZE;
+
+    private static final List<String> TABLES = List.of(
+        "users", "products", "stores", "orders", "user_orders", "payment_transactions",
+        "carts", "cart_items", "wishlists", "wishlist_items", "user_settings",
+        "eco_challenges", "user_challenges", "order_events"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // EntityManagerFactory is injected so that Hibernate has created the entity tables first
+    public IdGeneratorInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Make sure every generator row starts above the ids already in its table
+     */
+    @PostConstruct
+    public void seedIdGenerators() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS id_generators (" +
+            "sequence_name VARCHAR(255) NOT NULL, next_val BIGINT, PRIMARY KEY (sequence_name))");
+        for (String table : TABLES) {
+            try {
+                Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+                long floor = (maxId != null ? maxId : 0L) + ALLOCATION_SIZE + 1;
+                int updated = jdbcTemplate.update(
+                    "UPDATE id_generators SET next_val = GREATEST(next_val, ?) WHERE sequence_name = ?",
+                    floor, table);
+                if (updated == 0) {
+                    jdbcTemplate.update(
+                        "INSERT INTO id_generators (sequence_name, next_val) VALUES (?, ?)",
+                        table, floor);
+                }
+            } catch (Exception e) {
+                System.err.println("Error seeding id generator for " + table + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecobazaar.backend.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the idempotency interceptor for @Idempotent handlers
+ */
+@Configuration
+public class IdempotencyConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private IdempotencyInterceptor idempotencyInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(idempotencyInterceptor).addPathPatterns("/api/**");
+    }
+}
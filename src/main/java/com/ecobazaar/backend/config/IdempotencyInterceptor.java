@@ -0,0 +1,181 @@
+package com.ecobazaar.backend.config;
+
+import com.ecobazaar.backend.config.IdempotencyRequestFilter.CachedBodyRequest;
+import com.ecobazaar.backend.entity.IdempotencyRecord;
+import com.ecobazaar.backend.service.IdempotencyService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Idempotency Interceptor
+ *
+ * Applies {@link Idempotent} to handlers: before the handler runs, a request
+ * whose Idempotency-Key was seen before gets the stored response (with an
+ * Idempotent-Replayed header) and the handler is skipped; a key that is still
+ * being processed gets 409. After the handler runs, the response body is
+ * captured as it is written and stored under the key. Server errors are not
+ * stored, so the client can retry them.
+ *
+ * Keys are scoped by the caller the handlers act for (the userId path
+ * variable, request parameter or JSON body field, plus any Authorization
+ * header), so one user's key never replays another user's response. The
+ * stored response remembers a hash of the request's parameters and body; the
+ * same key sent with a different request gets 422 instead of the old response.
+ */
+@ControllerAdvice
+public class IdempotencyInterceptor implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String KEY_ATTRIBUTE = IdempotencyInterceptor.class.getName() + ".key";
+    private static final String REQUEST_HASH_ATTRIBUTE = IdempotencyInterceptor.class.getName() + ".requestHash";
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !handlerMethod.hasMethodAnnotation(Idempotent.class)) {
+            return true;
+        }
+        String key = request.getHeader(HEADER);
+        if (key == null || key.isBlank()
+                || !("POST".equals(request.getMethod()) || "PUT".equals(request.getMethod()))) {
+            return true;
+        }
+        if (key.length() > IdempotencyService.MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, HEADER + " is too long");
+            return false;
+        }
+
+        // Filled in by IdempotencyRequestFilter; form posts are covered by the parameters
+        CachedBodyRequest cached = WebUtils.getNativeRequest(request, CachedBodyRequest.class);
+        byte[] body = cached != null ? cached.getBody() : new byte[0];
+        String keyHash = idempotencyService.keyHash(request.getMethod(), request.getRequestURI(),
+            caller(request, body), key);
+        String requestHash = idempotencyService.requestHash(request.getParameterMap(), body);
+        Optional<IdempotencyRecord> stored = idempotencyService.find(keyHash);
+        if (stored.isPresent()) {
+            // Rows stored before request hashes were kept have none to compare
+            if (stored.get().getRequestHash() != null && !stored.get().getRequestHash().equals(requestHash)) {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used with a different request");
+                return false;
+            }
+            response.setStatus(stored.get().getStatusCode());
+            response.setHeader(REPLAYED_HEADER, "true");
+            if (stored.get().getResponseBody() != null) {
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                response.getWriter().write(stored.get().getResponseBody());
+            }
+            return false;
+        }
+        if (!idempotencyService.begin(keyHash)) {
+            writeError(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still being processed");
+            return false;
+        }
+        request.setAttribute(KEY_ATTRIBUTE, keyHash);
+        request.setAttribute(REQUEST_HASH_ATTRIBUTE, requestHash);
+        return true;
+    }
+
+    /**
+     * Who the request acts for: the userId the handler reads, from the path,
+     * the parameters or the JSON body, plus the Authorization header if sent
+     */
+    private String caller(HttpServletRequest request, byte[] body) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables =
+            (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String userId = pathVariables != null ? pathVariables.get("userId") : null;
+        if (userId == null) {
+            userId = request.getParameter("userId");
+        }
+        if (userId == null && body.length > 0) {
+            try {
+                JsonNode json = objectMapper.readTree(body);
+                if (json != null && json.hasNonNull("userId")) {
+                    userId = json.get("userId").asText();
+                }
+            } catch (IOException e) {
+                // Not JSON; the handler reports the bad body
+            }
+        }
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        return (userId != null ? userId : "") + "\n" + (authorization != null ? authorization : "");
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(Idempotent.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse) {
+            HttpServletRequest httpRequest = servletRequest.getServletRequest();
+            String keyHash = (String) httpRequest.getAttribute(KEY_ATTRIBUTE);
+            int status = servletResponse.getServletResponse().getStatus();
+            if (keyHash != null && status < 500) {
+                try {
+                    idempotencyService.complete(keyHash, (String) httpRequest.getAttribute(REQUEST_HASH_ATTRIBUTE),
+                        status, body != null ? objectMapper.writeValueAsString(body) : null);
+                    httpRequest.removeAttribute(KEY_ATTRIBUTE);
+                } catch (Exception e) {
+                    System.err.println("Error storing idempotent response: " + e.getMessage());
+                }
+            }
+        }
+        return body;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        // Still set when no response was stored: free the key for a retry
+        String keyHash = (String) request.getAttribute(KEY_ATTRIBUTE);
+        if (keyHash != null) {
+            idempotencyService.release(keyHash);
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws Exception {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(objectMapper.writeValueAsString(Map.of(
+            "success", false,
+            "message", message
+        )));
+    }
+}
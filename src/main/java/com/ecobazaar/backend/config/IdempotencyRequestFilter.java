@@ -0,0 +1,180 @@
+package com.ecobazaar.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.RequestPath;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Reads the body of POST/PUT requests sent with an Idempotency-Key to an
+ * {@link Idempotent} handler up front, so {@link IdempotencyInterceptor} can
+ * identify the caller and fingerprint the payload before the handler runs.
+ * The handler still reads the body as usual from the buffered copy.
+ *
+ * Requests to other handlers stream as usual even when they carry the header,
+ * and bodies above idempotency.max-body-bytes are rejected with 413 instead of
+ * being held in memory.
+ */
+@Component
+public class IdempotencyRequestFilter extends OncePerRequestFilter {
+
+    // Looked up on use: filters are created before the MVC infrastructure
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private ObjectProvider<RequestMappingHandlerMapping> handlerMapping;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${idempotency.max-body-bytes:1048576}")
+    private int maxBodyBytes;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        // Form bodies are left to the container, which parses them into request parameters
+        return request.getHeader(IdempotencyInterceptor.HEADER) == null
+            || !("POST".equals(request.getMethod()) || "PUT".equals(request.getMethod()))
+            || (contentType != null && contentType.toLowerCase().startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!isIdempotentHandler(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        byte[] body = request.getContentLengthLong() > maxBodyBytes
+            ? null : request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body == null || body.length > maxBodyBytes) {
+            response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write(objectMapper.writeValueAsString(Map.of(
+                "success", false,
+                "message", "Requests with an " + IdempotencyInterceptor.HEADER + " may have at most "
+                    + maxBodyBytes + " bytes of body"
+            )));
+            return;
+        }
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    /**
+     * Whether the request maps to an @Idempotent handler method
+     */
+    private boolean isIdempotentHandler(HttpServletRequest request) {
+        // The lookup needs the parsed path the DispatcherServlet would set; restore whatever was there
+        RequestPath previousPath = ServletRequestPathUtils.hasParsedRequestPath(request)
+            ? ServletRequestPathUtils.getParsedRequestPath(request) : null;
+        ServletRequestPathUtils.parseAndCache(request);
+        try {
+            HandlerExecutionChain chain = handlerMapping.getObject().getHandler(request);
+            return chain != null && chain.getHandler() instanceof HandlerMethod handlerMethod
+                && handlerMethod.hasMethodAnnotation(Idempotent.class);
+        } catch (Exception e) {
+            return false;
+        } finally {
+            ServletRequestPathUtils.setParsedRequestPath(previousPath, request);
+        }
+    }
+
+    /**
+     * Request whose body has been read into memory and can be read again
+     */
+    public static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is already in memory, so it is available at once
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null
+                ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
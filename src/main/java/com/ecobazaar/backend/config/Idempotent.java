@@ -0,0 +1,20 @@
+package com.ecobazaar.backend.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a POST/PUT handler whose response is stored under the request's
+ * Idempotency-Key header and replayed when the same key is sent again.
+ * Requests without the header are handled normally.
+ *
+ * @see IdempotencyInterceptor
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Idempotent {
+}
@@ -0,0 +1,28 @@
+package com.ecobazaar.backend.config;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity id that is drawn from pooled blocks in the id_generators
+ * table, keyed by the entity's table name. Ids are assigned before insert,
+ * so Hibernate can batch the inserts.
+ *
+ * @see PooledIdGenerator
+ */
+@IdGeneratorType(PooledIdGenerator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PooledId {
+
+    /**
+     * Ids reserved per round trip to id_generators
+     */
+    int allocationSize() default IdBlockSource.DEFAULT_ALLOCATION_SIZE;
+}
@@ -0,0 +1,45 @@
+package com.ecobazaar.backend.config;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+
+/**
+ * Hands out ids for a {@link PooledId} entity from blocks reserved through
+ * {@link IdBlockSource}. The block is fetched on the id source's own
+ * connection pool, never on a connection of the caller's transaction, so a
+ * transaction that needs a new block can always get one.
+ */
+public class PooledIdGenerator implements IdentifierGenerator {
+
+    private final String sequenceName;
+    private final int allocationSize;
+    private final IdBlockSource idBlockSource;
+
+    // Next id to hand out and the end of the current block (exclusive)
+    private long next;
+    private long limit;
+
+    public PooledIdGenerator(PooledId config, Member member, CustomIdGeneratorCreationContext context) {
+        this.sequenceName = context.getPersistentClass().getTable().getName();
+        this.allocationSize = config.allocationSize();
+        Object source = context.getServiceRegistry().requireService(ConfigurationService.class)
+            .getSettings().get(IdBlockSource.SETTING);
+        if (!(source instanceof IdBlockSource)) {
+            throw new IllegalStateException("No IdBlockSource configured for " + sequenceName + " ids");
+        }
+        this.idBlockSource = (IdBlockSource) source;
+    }
+
+    @Override
+    public synchronized Object generate(SharedSessionContractImplementor session, Object object) {
+        if (next >= limit) {
+            next = idBlockSource.reserve(sequenceName, allocationSize);
+            limit = next + allocationSize;
+        }
+        return next++;
+    }
+}
@@ -1,12 +1,15 @@
 package com.ecobazaar.backend.controller;
 
+import com.ecobazaar.backend.config.Idempotent;
 import com.ecobazaar.backend.entity.CartItem;
 import com.ecobazaar.backend.repository.CartItemRepository;
+import com.ecobazaar.backend.service.CartStoreService;
+import com.ecobazaar.backend.service.CartSummaryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -25,13 +28,23 @@ import java.util.Optional;
 })
 public class CartController {
 
+    private static final int MAX_BATCH_OPERATIONS = 100;
+
     @Autowired
     private CartItemRepository cartItemRepository;
 
+    @Autowired
+    private CartStoreService cartStoreService;
+
+    @Autowired
+    private CartSummaryService cartSummaryService;
+
     // Get all cart items
     @GetMapping
     public ResponseEntity<List<CartItem>> getAllCartItems() {
         try {
+            // Pending in-memory changes first, so the table is current
+            cartStoreService.flush();
             List<CartItem> cartItems = cartItemRepository.findAll();
             return ResponseEntity.ok(cartItems);
         } catch (Exception e) {
@@ -43,7 +56,7 @@ public class CartController {
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<CartItem>> getCartByUser(@PathVariable String userId) {
         try {
-            List<CartItem> cartItems = cartItemRepository.findByUserId(userId);
+            List<CartItem> cartItems = cartStoreService.getCart(userId);
             return ResponseEntity.ok(cartItems);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(List.of());
@@ -52,6 +65,7 @@ public class CartController {
 
     // Add item to cart
     @PostMapping("/add")
+    @Idempotent
     public ResponseEntity<Map<String, Object>> addToCart(@RequestBody Map<String, Object> request) {
         try {
             String userId = (String) request.get("userId");
@@ -69,29 +83,8 @@ public class CartController {
                 ));
             }
 
-            // Check if item already exists in cart
-            Optional<CartItem> existingItem = cartItemRepository.findByUserIdAndProductId(userId, productId);
-            
-            CartItem cartItem;
-            if (existingItem.isPresent()) {
-                // Update quantity if item exists
-                cartItem = existingItem.get();
-                cartItem.setQuantity(cartItem.getQuantity() + quantity);
-                cartItem.setUpdatedAt(LocalDateTime.now());
-            } else {
-                // Create new cart item
-                cartItem = new CartItem();
-                cartItem.setUserId(userId);
-                cartItem.setProductId(productId);
-                cartItem.setProductName(productName);
-                cartItem.setPrice(price);
-                cartItem.setQuantity(quantity);
-                cartItem.setImageUrl(imageUrl);
-                cartItem.setCreatedAt(LocalDateTime.now());
-                cartItem.setUpdatedAt(LocalDateTime.now());
-            }
-
-            CartItem savedItem = cartItemRepository.save(cartItem);
+            // Adds to the quantity if the product is already in the cart
+            CartItem savedItem = cartStoreService.addItem(userId, productId, productName, price, quantity, imageUrl);
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Item added to cart successfully",
@@ -107,19 +100,16 @@ public class CartController {
 
     // Update cart item quantity
     @PutMapping("/update/{cartId}")
+    @Idempotent
     public ResponseEntity<Map<String, Object>> updateCartItem(
             @PathVariable Long cartId, 
             @RequestBody Map<String, Object> request) {
         try {
             Integer quantity = ((Number) request.get("quantity")).intValue();
             
-            Optional<CartItem> cartOptional = cartItemRepository.findById(cartId);
+            Optional<CartItem> cartOptional = cartStoreService.updateQuantity(cartId, quantity);
             if (cartOptional.isPresent()) {
-                CartItem cartItem = cartOptional.get();
-                cartItem.setQuantity(quantity);
-                cartItem.setUpdatedAt(LocalDateTime.now());
-                
-                CartItem updatedItem = cartItemRepository.save(cartItem);
+                CartItem updatedItem = cartOptional.get();
                 return ResponseEntity.ok(Map.of(
                     "success", true,
                     "message", "Cart item updated successfully",
@@ -136,12 +126,54 @@ public class CartController {
         }
     }
 
+    // Apply several add/update/remove operations to one user's cart
+    @PostMapping("/batch")
+    @Idempotent
+    public ResponseEntity<Map<String, Object>> batchUpdateCart(@RequestBody Map<String, Object> request) {
+        try {
+            String userId = (String) request.get("userId");
+            if (userId == null || !(request.get("operations") instanceof List<?> rawOperations)
+                    || rawOperations.isEmpty()) {
+                return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "Missing required fields: userId, operations"
+                ));
+            }
+            if (rawOperations.size() > MAX_BATCH_OPERATIONS) {
+                return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "At most " + MAX_BATCH_OPERATIONS + " operations per batch"
+                ));
+            }
+
+            List<CartStoreService.CartOperation> operations = new ArrayList<>();
+            for (int i = 0; i < rawOperations.size(); i++) {
+                operations.add(toCartOperation(i, rawOperations.get(i)));
+            }
+            List<CartItem> cartItems = cartStoreService.applyBatch(userId, operations);
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Cart updated successfully",
+                "cartItems", cartItems
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error updating cart: " + e.getMessage()
+            ));
+        }
+    }
+
     // Remove item from cart
     @DeleteMapping("/remove/{cartId}")
     public ResponseEntity<Map<String, Object>> removeFromCart(@PathVariable Long cartId) {
         try {
-            if (cartItemRepository.existsById(cartId)) {
-                cartItemRepository.deleteById(cartId);
+            if (cartStoreService.removeItem(cartId)) {
                 return ResponseEntity.ok(Map.of(
                     "success", true,
                     "message", "Item removed from cart successfully"
@@ -161,8 +193,7 @@ public class CartController {
     @DeleteMapping("/clear/{userId}")
     public ResponseEntity<Map<String, Object>> clearCart(@PathVariable String userId) {
         try {
-            List<CartItem> cartItems = cartItemRepository.findByUserId(userId);
-            cartItemRepository.deleteAll(cartItems);
+            cartStoreService.clear(userId);
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Cart cleared successfully"
@@ -179,11 +210,10 @@ public class CartController {
     @GetMapping("/count/{userId}")
     public ResponseEntity<Map<String, Object>> getCartCount(@PathVariable String userId) {
         try {
-            List<CartItem> cartItems = cartItemRepository.findByUserId(userId);
-            int totalCount = cartItems.stream().mapToInt(CartItem::getQuantity).sum();
+            Map<String, Object> summary = cartSummaryService.getSummary(userId);
             return ResponseEntity.ok(Map.of(
-                "count", totalCount,
-                "items", cartItems.size()
+                "count", summary.get("count"),
+                "items", summary.get("items")
             ));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of(
@@ -198,13 +228,10 @@ public class CartController {
     @GetMapping("/total/{userId}")
     public ResponseEntity<Map<String, Object>> getCartTotal(@PathVariable String userId) {
         try {
-            List<CartItem> cartItems = cartItemRepository.findByUserId(userId);
-            double total = cartItems.stream()
-                .mapToDouble(item -> item.getPrice() * item.getQuantity())
-                .sum();
+            Map<String, Object> summary = cartSummaryService.getSummary(userId);
             return ResponseEntity.ok(Map.of(
-                "total", total,
-                "itemCount", cartItems.size()
+                "total", summary.get("total"),
+                "itemCount", summary.get("items")
             ));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of(
@@ -214,4 +241,67 @@ public class CartController {
             ));
         }
     }
+
+    // Get cart count, distinct items and total for user in one call
+    @GetMapping("/summary/{userId}")
+    public ResponseEntity<Map<String, Object>> getCartSummary(@PathVariable String userId) {
+        try {
+            return ResponseEntity.ok(cartSummaryService.getSummary(userId));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "count", 0,
+                "items", 0,
+                "total", 0.0,
+                "error", e.getMessage()
+            ));
+        }
+    }
+
+    // Get in-memory cart store stats
+    @GetMapping("/store/stats")
+    public ResponseEntity<Map<String, Object>> getCartStoreStats() {
+        return ResponseEntity.ok(cartStoreService.getStats());
+    }
+
+    private static CartStoreService.CartOperation toCartOperation(int index, Object raw) {
+        if (!(raw instanceof Map<?, ?> operation) || !(operation.get("type") instanceof String type)) {
+            throw new IllegalArgumentException("Operation " + index + ": type is required");
+        }
+        switch (type.toLowerCase()) {
+            case "add": {
+                if (!(operation.get("productId") instanceof String productId)
+                        || !(operation.get("productName") instanceof String productName)
+                        || !(operation.get("price") instanceof Number price)) {
+                    throw new IllegalArgumentException(
+                        "Operation " + index + ": add requires productId, productName, price");
+                }
+                int quantity = operation.get("quantity") instanceof Number number ? number.intValue() : 1;
+                if (quantity <= 0) {
+                    throw new IllegalArgumentException("Operation " + index + ": quantity must be positive");
+                }
+                Object imageUrl = operation.get("imageUrl");
+                return CartStoreService.CartOperation.add(productId, productName, price.doubleValue(), quantity,
+                    imageUrl instanceof String ? (String) imageUrl : null);
+            }
+            case "update": {
+                if (!(operation.get("cartId") instanceof Number cartId)
+                        || !(operation.get("quantity") instanceof Number quantity)) {
+                    throw new IllegalArgumentException("Operation " + index + ": update requires cartId, quantity");
+                }
+                if (quantity.intValue() <= 0) {
+                    throw new IllegalArgumentException(
+                        "Operation " + index + ": quantity must be positive (use remove to drop a line)");
+                }
+                return CartStoreService.CartOperation.update(cartId.longValue(), quantity.intValue());
+            }
+            case "remove": {
+                if (!(operation.get("cartId") instanceof Number cartId)) {
+                    throw new IllegalArgumentException("Operation " + index + ": remove requires cartId");
+                }
+                return CartStoreService.CartOperation.remove(cartId.longValue());
+            }
+            default:
+                throw new IllegalArgumentException("Operation " + index + ": type must be add, update or remove");
+        }
+    }
 }
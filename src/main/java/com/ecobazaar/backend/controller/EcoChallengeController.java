@@ -1,13 +1,16 @@
 package com.ecobazaar.backend.controller;
 
+import com.ecobazaar.backend.config.Idempotent;
 import com.ecobazaar.backend.entity.ChallengeStatus;
 import com.ecobazaar.backend.entity.EcoChallenge;
 import com.ecobazaar.backend.entity.UserChallenge;
 import com.ecobazaar.backend.service.EcoChallengeService;
+import com.ecobazaar.backend.service.ResourceVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,16 +22,25 @@ public class EcoChallengeController {
     @Autowired
     private EcoChallengeService ecoChallengeService;
     
-    // Get all challenges
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+    
+    // Get all challenges (304 if the client's ETag is current)
     @GetMapping
-    public ResponseEntity<List<EcoChallenge>> getAllChallenges() {
+    public ResponseEntity<List<EcoChallenge>> getAllChallenges(WebRequest webRequest) {
+        if (resourceVersionService.checkNotModified(webRequest, ResourceVersionService.ECO_CHALLENGES)) {
+            return null;
+        }
         List<EcoChallenge> challenges = ecoChallengeService.getAllChallenges();
         return ResponseEntity.ok(challenges);
     }
     
-    // Get active challenges
+    // Get active challenges (304 if the client's ETag is current)
     @GetMapping("/active")
-    public ResponseEntity<List<EcoChallenge>> getActiveChallenges() {
+    public ResponseEntity<List<EcoChallenge>> getActiveChallenges(WebRequest webRequest) {
+        if (resourceVersionService.checkNotModified(webRequest, ResourceVersionService.ECO_CHALLENGES)) {
+            return null;
+        }
         List<EcoChallenge> challenges = ecoChallengeService.getActiveChallenges();
         return ResponseEntity.ok(challenges);
     }
@@ -190,6 +202,7 @@ public class EcoChallengeController {
     
     // Join challenge
     @PostMapping("/user/{userId}/join/{challengeId}")
+    @Idempotent
     public ResponseEntity<UserChallenge> joinChallenge(
             @PathVariable Long userId, 
             @PathVariable Long challengeId) {
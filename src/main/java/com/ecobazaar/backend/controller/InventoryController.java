@@ -0,0 +1,101 @@
+package com.ecobazaar.backend.controller;
+
+import com.ecobazaar.backend.service.InventoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/inventory")
+public class InventoryController {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    // Get sellable stock of a product
+    @GetMapping("/{productId}")
+    public ResponseEntity<Map<String, Object>> getAvailable(@PathVariable Long productId) {
+        try {
+            return ResponseEntity.ok(Map.of(
+                "productId", productId,
+                "available", inventoryService.getAvailable(productId)
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error loading stock: " + e.getMessage()
+            ));
+        }
+    }
+
+    // Reserve stock: {"productId": 1, "quantity": 2}
+    @PostMapping("/reservations")
+    public ResponseEntity<Map<String, Object>> reserve(@RequestBody Map<String, Object> request) {
+        try {
+            Long productId = Long.valueOf(request.get("productId").toString());
+            int quantity = request.get("quantity") != null ? Integer.parseInt(request.get("quantity").toString()) : 1;
+            
+            InventoryService.Reservation reservation = inventoryService.reserve(productId, quantity);
+            if (reservation == null) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                    "success", false,
+                    "message", "Not enough stock"
+                ));
+            }
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "reservation", reservation
+            ));
+        } catch (NullPointerException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", "productId and a positive quantity are required"
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error reserving stock: " + e.getMessage()
+            ));
+        }
+    }
+
+    // Confirm a reservation (stock stays taken)
+    @PostMapping("/reservations/{reservationId}/confirm")
+    public ResponseEntity<Map<String, Object>> confirm(@PathVariable String reservationId) {
+        if (inventoryService.confirm(reservationId)) {
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Reservation confirmed"
+            ));
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    // Release a reservation (stock goes back)
+    @DeleteMapping("/reservations/{reservationId}")
+    public ResponseEntity<Map<String, Object>> release(@PathVariable String reservationId) {
+        try {
+            if (inventoryService.release(reservationId)) {
+                return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "message", "Reservation released"
+                ));
+            }
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error releasing reservation: " + e.getMessage()
+            ));
+        }
+    }
+
+    // Get reservation ledger statistics
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(inventoryService.getStats());
+    }
+}
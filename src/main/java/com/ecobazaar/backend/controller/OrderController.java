@@ -1,12 +1,28 @@
 package com.ecobazaar.backend.controller;
 
+import com.ecobazaar.backend.config.Idempotent;
 import com.ecobazaar.backend.entity.Order;
 import com.ecobazaar.backend.entity.OrderStatus;
 import com.ecobazaar.backend.repository.OrderRepository;
+import com.ecobazaar.backend.service.CheckoutService;
+import com.ecobazaar.backend.service.OrderArchiveService;
+import com.ecobazaar.backend.service.OrderEventDispatcher;
+import com.ecobazaar.backend.service.OrderExportService;
+import com.ecobazaar.backend.service.OrderLifecycleService;
+import com.ecobazaar.backend.service.OrderQueryService;
+import com.ecobazaar.backend.service.OrderRevenueRollupService;
+import com.ecobazaar.backend.service.OrderStatusCounterService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -18,9 +34,38 @@ public class OrderController {
     @Autowired
     private OrderRepository orderRepository;
 
-    // Get all orders
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private OrderLifecycleService orderLifecycleService;
+
+    @Autowired
+    private OrderEventDispatcher orderEventDispatcher;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderQueryService orderQueryService;
+
+    @Autowired
+    private OrderRevenueRollupService orderRevenueRollupService;
+
+    @Autowired
+    private OrderStatusCounterService orderStatusCounterService;
+
+    // Get all orders; with cursor or limit, one keyset page (newest first)
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
+    public ResponseEntity<?> getAllOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return getOrderPage(null, null, null, cursor, limit);
+        }
         try {
             List<Order> orders = orderRepository.findAll();
             return ResponseEntity.ok(orders);
@@ -29,11 +74,34 @@ public class OrderController {
         }
     }
 
-    // Get order by ID
+    // Get one keyset page of orders, newest first, optionally filtered by one of userId, userEmail or status
+    @GetMapping("/page")
+    public ResponseEntity<?> getOrderPage(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String userEmail,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(orderQueryService.getOrderPage(userId, userEmail, status, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error loading orders: " + e.getMessage()
+            ));
+        }
+    }
+
+    // Get order by ID (archived orders included)
     @GetMapping("/{orderId}")
     public ResponseEntity<Order> getOrderById(@PathVariable Long orderId) {
         try {
-            Optional<Order> order = orderRepository.findById(orderId);
+            Optional<Order> order = orderRepository.findByIdOrArchived(orderId);
             if (order.isPresent()) {
                 return ResponseEntity.ok(order.get());
             } else {
@@ -44,9 +112,15 @@ public class OrderController {
         }
     }
 
-    // Get orders by user
+    // Get orders by user; with cursor or limit, one keyset page (newest first)
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Order>> getOrdersByUser(@PathVariable String userId) {
+    public ResponseEntity<?> getOrdersByUser(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return getOrderPage(userId, null, null, cursor, limit);
+        }
         try {
             List<Order> orders = orderRepository.findByUserId(userId);
             return ResponseEntity.ok(orders);
@@ -55,9 +129,15 @@ public class OrderController {
         }
     }
 
-    // Get orders by status
+    // Get orders by status; with cursor or limit, one keyset page (newest first)
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Order>> getOrdersByStatus(@PathVariable OrderStatus status) {
+    public ResponseEntity<?> getOrdersByStatus(
+            @PathVariable OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return getOrderPage(null, null, status, cursor, limit);
+        }
         try {
             List<Order> orders = orderRepository.findByOrderStatus(status);
             return ResponseEntity.ok(orders);
@@ -68,9 +148,10 @@ public class OrderController {
 
     // Create new order
     @PostMapping
+    @Idempotent
     public ResponseEntity<Map<String, Object>> createOrder(@RequestBody Order order) {
         try {
-            Order savedOrder = orderRepository.save(order);
+            Order savedOrder = orderLifecycleService.create(order);
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Order created successfully",
@@ -84,69 +165,94 @@ public class OrderController {
         }
     }
 
-    // Update order status
+    // Check out the user's cart: prices items, takes stock and writes the order,
+    // its lines and a pending payment in one transaction, then clears the cart
+    @PostMapping("/checkout")
+    @Idempotent
+    public ResponseEntity<Map<String, Object>> checkout(@RequestBody Map<String, Object> request) {
+        try {
+            long start = System.currentTimeMillis();
+            Map<String, Object> result = checkoutService.checkout(request);
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Order placed successfully",
+                "order", result.get("order"),
+                "items", result.get("items"),
+                "payment", result.get("payment"),
+                "tookMs", System.currentTimeMillis() - start
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error placing order: " + e.getMessage()
+            ));
+        }
+    }
+
+    // Update order status; only lifecycle transitions are allowed (409 otherwise)
     @PutMapping("/{orderId}/status")
+    @Idempotent
     public ResponseEntity<Map<String, Object>> updateOrderStatus(
             @PathVariable Long orderId, 
             @RequestBody Map<String, String> request) {
+        String newStatus = request.get("status");
+        if (newStatus == null) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", "Status is required"
+            ));
+        }
+        OrderStatus status;
         try {
-            Optional<Order> orderOptional = orderRepository.findById(orderId);
-            if (orderOptional.isPresent()) {
-                Order order = orderOptional.get();
-                String newStatus = request.get("status");
-                if (newStatus != null) {
-                    try {
-                        order.setOrderStatus(OrderStatus.valueOf(newStatus.toUpperCase()));
-                        Order updatedOrder = orderRepository.save(order);
-                        return ResponseEntity.ok(Map.of(
-                            "success", true,
-                            "message", "Order status updated successfully",
-                            "order", updatedOrder
-                        ));
-                    } catch (IllegalArgumentException e) {
-                        return ResponseEntity.badRequest().body(Map.of(
-                            "success", false,
-                            "message", "Invalid status: " + newStatus
-                        ));
-                    }
-                } else {
-                    return ResponseEntity.badRequest().body(Map.of(
-                        "success", false,
-                        "message", "Status is required"
-                    ));
-                }
-            } else {
-                return ResponseEntity.notFound().build();
-            }
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().body(Map.of(
+            status = OrderStatus.valueOf(newStatus.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
                 "success", false,
-                "message", "Error updating order status: " + e.getMessage()
+                "message", "Invalid status: " + newStatus
             ));
         }
+        return changeOrderStatus(orderId, status, "Order status updated successfully", "Error updating order status: ");
     }
 
-    // Cancel order
+    // Cancel order (only before it ships)
     @PutMapping("/{orderId}/cancel")
+    @Idempotent
     public ResponseEntity<Map<String, Object>> cancelOrder(@PathVariable Long orderId) {
+        return changeOrderStatus(orderId, OrderStatus.CANCELLED, "Order cancelled successfully", "Error cancelling order: ");
+    }
+
+    private ResponseEntity<Map<String, Object>> changeOrderStatus(Long orderId, OrderStatus status,
+                                                                  String successMessage, String errorMessage) {
         try {
-            Optional<Order> orderOptional = orderRepository.findById(orderId);
-            if (orderOptional.isPresent()) {
-                Order order = orderOptional.get();
-                order.setOrderStatus(OrderStatus.CANCELLED);
-                Order updatedOrder = orderRepository.save(order);
+            Optional<Order> updatedOrder = orderLifecycleService.changeStatus(orderId, status);
+            if (updatedOrder.isPresent()) {
                 return ResponseEntity.ok(Map.of(
                     "success", true,
-                    "message", "Order cancelled successfully",
-                    "order", updatedOrder
+                    "message", successMessage,
+                    "order", updatedOrder.get()
                 ));
             } else {
                 return ResponseEntity.notFound().build();
             }
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of(
                 "success", false,
-                "message", "Error cancelling order: " + e.getMessage()
+                "message", errorMessage + e.getMessage()
             ));
         }
     }
@@ -155,8 +261,7 @@ public class OrderController {
     @DeleteMapping("/{orderId}")
     public ResponseEntity<Map<String, Object>> deleteOrder(@PathVariable Long orderId) {
         try {
-            if (orderRepository.existsById(orderId)) {
-                orderRepository.deleteById(orderId);
+            if (orderLifecycleService.delete(orderId)) {
                 return ResponseEntity.ok(Map.of(
                     "success", true,
                     "message", "Order deleted successfully"
@@ -172,20 +277,135 @@ public class OrderController {
         }
     }
 
-    // Get order statistics
+    // Start archiving closed orders older than ageDays (default orders.archive.min-age-days)
+    @PostMapping("/archive/run")
+    public ResponseEntity<Map<String, Object>> runOrderArchive(@RequestParam(required = false) Integer ageDays) {
+        try {
+            orderArchiveService.submit(ageDays);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                "success", true,
+                "message", "Order archival started"
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error starting order archival: " + e.getMessage()
+            ));
+        }
+    }
+
+    // Get the progress of the running archival, or the result of the last one
+    @GetMapping("/archive/status")
+    public ResponseEntity<Map<String, Object>> getOrderArchiveStatus() {
+        return ResponseEntity.ok(orderArchiveService.getStatus());
+    }
+
+    // Export the orders created in a date range as CSV or NDJSON, streamed from a database cursor
+    // (defaults to the last 31 days), e.g. /api/orders/export?format=csv&from=2025-01-01&to=2025-01-31&gzip=true
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(defaultValue = OrderExportService.CSV) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        String exportFormat = format.toLowerCase();
+        try {
+            orderExportService.validate(exportFormat, from, to);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(outputStream -> outputStream.write(e.getMessage().getBytes(StandardCharsets.UTF_8)));
+        }
+        String filename = "orders" + (from != null ? "-" + from : "") + (to != null ? "-" + to : "")
+            + "." + exportFormat + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+            : OrderExportService.CSV.equals(exportFormat) ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+            : MediaType.parseMediaType("application/x-ndjson");
+        StreamingResponseBody body = outputStream ->
+            orderExportService.export(outputStream, exportFormat, from, to, includeArchived, gzip);
+        return ResponseEntity.ok()
+            .contentType(contentType)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+            .body(body);
+    }
+
+    // Get the number of order events in the outbox per delivery state
+    @GetMapping("/events/stats")
+    public ResponseEntity<Map<String, Object>> getOrderEventStats() {
+        try {
+            return ResponseEntity.ok(orderEventDispatcher.getStats());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error loading order event stats: " + e.getMessage()
+            ));
+        }
+    }
+
+    // Get hourly or daily revenue and order count from the rollup (defaults to the last 30 days, INR,
+    // every status except CANCELLED), e.g. /api/orders/revenue?granularity=HOUR&from=2025-01-01&to=2025-01-07
+    @GetMapping("/revenue")
+    public ResponseEntity<Map<String, Object>> getRevenueSeries(
+            @RequestParam(required = false) String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String currency) {
+        try {
+            return ResponseEntity.ok(orderRevenueRollupService.getSeries(granularity, from, to, status, currency));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error loading revenue: " + e.getMessage()
+            ));
+        }
+    }
+
+    // Rebuild the revenue rollup from orders (whole history when no range is given)
+    @PostMapping("/revenue/backfill")
+    public ResponseEntity<Map<String, Object>> backfillRevenue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Order revenue rollup rebuilt",
+                "result", orderRevenueRollupService.backfill(from, to)
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error rebuilding order revenue: " + e.getMessage()
+            ));
+        }
+    }
+
+    // Get order statistics from the in-memory status counters (no database query)
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getOrderStats() {
         try {
-            long totalOrders = orderRepository.count();
-            long pendingOrders = orderRepository.countByOrderStatus(OrderStatus.PENDING);
-            long completedOrders = orderRepository.countByOrderStatus(OrderStatus.COMPLETED);
-            long cancelledOrders = orderRepository.countByOrderStatus(OrderStatus.CANCELLED);
-            
             return ResponseEntity.ok(Map.of(
-                "totalOrders", totalOrders,
-                "pendingOrders", pendingOrders,
-                "completedOrders", completedOrders,
-                "cancelledOrders", cancelledOrders
+                "totalOrders", orderStatusCounterService.getTotal(),
+                "pendingOrders", orderStatusCounterService.getCount(OrderStatus.PENDING),
+                "completedOrders", orderStatusCounterService.getCount(OrderStatus.COMPLETED),
+                "cancelledOrders", orderStatusCounterService.getCount(OrderStatus.CANCELLED),
+                "byStatus", orderStatusCounterService.getCounts()
             ));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of(
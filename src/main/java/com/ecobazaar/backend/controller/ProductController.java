@@ -1,14 +1,33 @@
 package com.ecobazaar.backend.controller;
 
 import com.ecobazaar.backend.entity.Product;
+import com.ecobazaar.backend.model.ProductBulkUpdate;
 import com.ecobazaar.backend.repository.ProductRepository;
 import com.ecobazaar.backend.service.DataInitializationService;
+import com.ecobazaar.backend.service.InventoryService;
+import com.ecobazaar.backend.service.LowStockService;
+import com.ecobazaar.backend.service.ProductBulkUpdateService;
+import com.ecobazaar.backend.service.ProductCatalogService;
+import com.ecobazaar.backend.service.ProductFacetService;
+import com.ecobazaar.backend.service.ProductImportService;
+import com.ecobazaar.backend.service.ProductSearchService;
+import com.ecobazaar.backend.service.ResourceVersionService;
+import com.ecobazaar.backend.service.StoreCounterService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @RestController
@@ -20,20 +39,91 @@ public class ProductController {
     
     @Autowired
     private DataInitializationService dataInitializationService;
+    
+    @Autowired
+    private ProductCatalogService productCatalogService;
+    
+    @Autowired
+    private ProductSearchService productSearchService;
+    
+    @Autowired
+    private ProductFacetService productFacetService;
+    
+    @Autowired
+    private LowStockService lowStockService;
+    
+    @Autowired
+    private ProductImportService productImportService;
+    
+    @Autowired
+    private ProductBulkUpdateService productBulkUpdateService;
+    
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+    
+    @Autowired
+    private StoreCounterService storeCounterService;
+
+    @Autowired
+    private InventoryService inventoryService;
 
-    // Get all products
+    // Get all products (streamed as a JSON array, constant memory; 304 if the client's ETag is current)
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
+    public ResponseEntity<StreamingResponseBody> getAllProducts(WebRequest webRequest) {
         try {
+            if (resourceVersionService.checkNotModified(webRequest, ResourceVersionService.PRODUCTS)) {
+                return null;
+            }
+            
             // Auto-initialize data if database is empty
             if (dataInitializationService.needsInitialization()) {
                 dataInitializationService.initializeSampleData();
             }
             
-            List<Product> products = productRepository.findAll();
-            return ResponseEntity.ok(products);
+            StreamingResponseBody body = outputStream -> productCatalogService.streamAllProducts(outputStream);
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
         } catch (Exception e) {
-            return ResponseEntity.internalServerError().body(List.of());
+            return ResponseEntity.internalServerError()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> outputStream.write("[]".getBytes()));
+        }
+    }
+
+    // Get one keyset page of products (sort=createdAt|price, cursor from previous page)
+    @GetMapping("/page")
+    public ResponseEntity<Map<String, Object>> getProductPage(
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(productCatalogService.getProductPage(sort, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", "Invalid cursor"
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error loading products: " + e.getMessage()
+            ));
+        }
+    }
+
+    // Get products at or below their store's low-stock threshold, lowest stock first
+    @GetMapping("/low-stock")
+    public ResponseEntity<Map<String, Object>> getLowStockProducts(
+            @RequestParam(required = false) String storeId,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(lowStockService.getLowStock(storeId, limit));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error loading low stock products: " + e.getMessage()
+            ));
         }
     }
 
@@ -41,7 +131,7 @@ public class ProductController {
     @GetMapping("/{productId}")
     public ResponseEntity<Product> getProductById(@PathVariable Long productId) {
         try {
-            Optional<Product> product = productRepository.findById(productId);
+            Optional<Product> product = productRepository.findCachedById(productId);
             if (product.isPresent()) {
                 return ResponseEntity.ok(product.get());
             } else {
@@ -74,57 +164,79 @@ public class ProductController {
         }
     }
 
-    // Search products
+    // Search products (in-memory index, ranked by relevance)
     @GetMapping("/search")
-    public ResponseEntity<List<Product>> searchProducts(@RequestParam String query) {
+    public ResponseEntity<List<Product>> searchProducts(
+            @RequestParam String query,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Product> products = productRepository.findByNameContainingIgnoreCase(query);
+            List<Product> products = productSearchService.search(query, limit);
             return ResponseEntity.ok(products);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(List.of());
         }
     }
 
+    // Filter products by facets and get counts for every facet value
+    // e.g. ?category=Fashion&priceBand=10-25&priceBand=25-50&inStock=true&offset=0&limit=50
+    @GetMapping("/facets")
+    public ResponseEntity<Map<String, Object>> getProductFacets(@RequestParam MultiValueMap<String, String> params) {
+        try {
+            Map<String, List<String>> filters = new HashMap<>();
+            for (String facet : ProductFacetService.FACETS) {
+                List<String> values = params.get(facet);
+                if (values != null) {
+                    List<String> selected = new ArrayList<>();
+                    for (String value : values) {
+                        for (String part : value.split(",")) {
+                            if (!part.isBlank()) {
+                                selected.add(part.trim());
+                            }
+                        }
+                    }
+                    filters.put(facet, selected);
+                }
+            }
+            Integer offset = params.getFirst("offset") != null ? Integer.valueOf(params.getFirst("offset")) : null;
+            Integer limit = params.getFirst("limit") != null ? Integer.valueOf(params.getFirst("limit")) : null;
+            
+            return ResponseEntity.ok(productFacetService.search(filters, offset, limit));
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", "offset and limit must be numbers"
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error loading facets: " + e.getMessage()
+            ));
+        }
+    }
+
     // Add new product (Admin/Shopkeeper only)
     @PostMapping
+    @CacheEvict(value = "products", allEntries = true)
     public ResponseEntity<Map<String, Object>> addProduct(@RequestBody Product product) {
         try {
             // Validate required fields
-            if (product.getName() == null || product.getName().trim().isEmpty()) {
-                return ResponseEntity.badRequest().body(Map.of(
-                    "success", false,
-                    "message", "Product name is required"
-                ));
-            }
-            
-            if (product.getPrice() == null || product.getPrice() <= 0) {
+            String validationError = productImportService.validateProduct(product);
+            if (validationError != null) {
                 return ResponseEntity.badRequest().body(Map.of(
                     "success", false,
-                    "message", "Valid price is required"
-                ));
-            }
-            
-            if (product.getStoreId() == null || product.getStoreId().trim().isEmpty()) {
-                return ResponseEntity.badRequest().body(Map.of(
-                    "success", false,
-                    "message", "Store ID is required"
+                    "message", validationError
                 ));
             }
             
             // Set default values if not provided
-            if (product.getQuantity() == null) {
-                product.setQuantity(0);
-            }
-            
-            if (product.getCategory() == null || product.getCategory().trim().isEmpty()) {
-                product.setCategory("General");
-            }
-            
-            if (product.getImageUrl() == null) {
-                product.setImageUrl("");
-            }
+            productImportService.applyDefaults(product);
             
             Product savedProduct = productRepository.save(product);
+            productSearchService.indexProduct(savedProduct);
+            productFacetService.indexProduct(savedProduct);
+            lowStockService.trackProduct(savedProduct);
+            storeCounterService.productAdded(savedProduct);
+            resourceVersionService.bump(ResourceVersionService.PRODUCTS);
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Product added successfully",
@@ -139,25 +251,90 @@ public class ProductController {
         }
     }
 
+    // Bulk import products from a CSV (header row) or NDJSON body (Admin/Shopkeeper only)
+    // format defaults to the Content-Type: text/csv -> csv, anything else -> ndjson
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson", "application/json", "text/plain"})
+    @CacheEvict(value = "products", allEntries = true)
+    public ResponseEntity<Map<String, Object>> importProducts(
+            @RequestHeader(value = "Content-Type", required = false) String contentType,
+            @RequestParam(required = false) String format,
+            InputStream body) {
+        try {
+            String importFormat = format != null ? format.toLowerCase()
+                : contentType != null && contentType.startsWith("text/csv")
+                    ? ProductImportService.FORMAT_CSV : ProductImportService.FORMAT_NDJSON;
+            if (!ProductImportService.FORMAT_CSV.equals(importFormat)
+                    && !ProductImportService.FORMAT_NDJSON.equals(importFormat)) {
+                return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "format must be csv or ndjson"
+                ));
+            }
+            
+            return ResponseEntity.ok(productImportService.importProducts(body, importFormat));
+        } catch (Exception e) {
+            System.err.println("Error importing products: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error importing products: " + e.getMessage()
+            ));
+        }
+    }
+
+    // Bulk update price / quantity / isActive (Admin/Shopkeeper only)
+    // Body: [{"productId": 1, "price": 9.99, "quantity": 20, "isActive": true}, ...]; null fields are unchanged
+    @PutMapping("/bulk")
+    @CacheEvict(value = "products", allEntries = true)
+    public ResponseEntity<Map<String, Object>> bulkUpdateProducts(@RequestBody List<ProductBulkUpdate> updates) {
+        try {
+            if (updates.size() > ProductBulkUpdateService.MAX_UPDATES) {
+                return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "At most " + ProductBulkUpdateService.MAX_UPDATES + " updates per request"
+                ));
+            }
+            
+            return ResponseEntity.ok(productBulkUpdateService.applyUpdates(updates));
+        } catch (Exception e) {
+            System.err.println("Error bulk updating products: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error updating products: " + e.getMessage()
+            ));
+        }
+    }
+
     // Update product (Admin/Shopkeeper only)
     @PutMapping("/{productId}")
+    @CacheEvict(value = "products", allEntries = true)
     public ResponseEntity<Map<String, Object>> updateProduct(
             @PathVariable Long productId, 
             @RequestBody Product productDetails) {
         try {
             Optional<Product> productOptional = productRepository.findById(productId);
             if (productOptional.isPresent()) {
-                Product product = productOptional.get();
-                product.setName(productDetails.getName());
-                product.setDescription(productDetails.getDescription());
-                product.setPrice(productDetails.getPrice());
-                product.setQuantity(productDetails.getQuantity());
-                product.setCategory(productDetails.getCategory());
-                product.setImageUrl(productDetails.getImageUrl());
-                product.setStoreId(productDetails.getStoreId());
-                product.setStoreName(productDetails.getStoreName());
-                
-                Product updatedProduct = productRepository.save(product);
+                String previousStoreId = productOptional.get().getStoreId();
+                // The quantity is absolute, so leased units are returned before it is written
+                Product updatedProduct = inventoryService.overwriteStock(List.of(productId), () -> {
+                    Product product = productRepository.findById(productId).orElseThrow();
+                    product.setName(productDetails.getName());
+                    product.setDescription(productDetails.getDescription());
+                    product.setPrice(productDetails.getPrice());
+                    product.setQuantity(productDetails.getQuantity());
+                    product.setCategory(productDetails.getCategory());
+                    product.setImageUrl(productDetails.getImageUrl());
+                    product.setStoreId(productDetails.getStoreId());
+                    product.setStoreName(productDetails.getStoreName());
+                    return productRepository.save(product);
+                });
+                productSearchService.indexProduct(updatedProduct);
+                productFacetService.indexProduct(updatedProduct);
+                lowStockService.trackProduct(updatedProduct);
+                if (!Objects.equals(previousStoreId, updatedProduct.getStoreId())) {
+                    storeCounterService.productChanged(previousStoreId, updatedProduct.getIsActive(),
+                                                       updatedProduct.getStoreId(), updatedProduct.getIsActive());
+                }
+                resourceVersionService.bump(ResourceVersionService.PRODUCTS);
                 return ResponseEntity.ok(Map.of(
                     "success", true,
                     "message", "Product updated successfully",
@@ -176,10 +353,17 @@ public class ProductController {
 
     // Delete product (Admin/Shopkeeper only)
     @DeleteMapping("/{productId}")
+    @CacheEvict(value = "products", allEntries = true)
     public ResponseEntity<Map<String, Object>> deleteProduct(@PathVariable Long productId) {
         try {
-            if (productRepository.existsById(productId)) {
+            Optional<Product> existing = productRepository.findById(productId);
+            if (existing.isPresent()) {
                 productRepository.deleteById(productId);
+                productSearchService.removeProduct(productId);
+                productFacetService.removeProduct(productId);
+                lowStockService.removeProduct(productId);
+                storeCounterService.productRemoved(existing.get().getStoreId(), existing.get().getIsActive());
+                resourceVersionService.bump(ResourceVersionService.PRODUCTS);
                 return ResponseEntity.ok(Map.of(
                     "success", true,
                     "message", "Product deleted successfully"
@@ -205,7 +389,8 @@ public class ProductController {
             return ResponseEntity.ok(Map.of(
                 "totalProducts", totalProducts,
                 "categories", categories,
-                "totalCategories", categories.size()
+                "totalCategories", categories.size(),
+                "searchIndex", productSearchService.getIndexStats()
             ));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of(
@@ -3,12 +3,23 @@ package com.ecobazaar.backend.controller;
 import com.ecobazaar.backend.entity.Store;
 import com.ecobazaar.backend.repository.StoreRepository;
 import com.ecobazaar.backend.service.DataInitializationService;
+import com.ecobazaar.backend.service.LowStockService;
+import com.ecobazaar.backend.service.NearbyStoreService;
+import com.ecobazaar.backend.service.ResourceVersionService;
+import com.ecobazaar.backend.service.SalesRollupService;
+import com.ecobazaar.backend.service.StoreCounterService;
+import com.ecobazaar.backend.service.StoreRenameService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @RestController
@@ -20,28 +31,113 @@ public class StoreController {
     
     @Autowired
     private DataInitializationService dataInitializationService;
+    
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+    
+    @Autowired
+    private LowStockService lowStockService;
+    
+    @Autowired
+    private NearbyStoreService nearbyStoreService;
+    
+    @Autowired
+    private StoreCounterService storeCounterService;
+    
+    @Autowired
+    private SalesRollupService salesRollupService;
+    
+    @Autowired
+    private StoreRenameService storeRenameService;
 
-    // Get all stores
+    // Get all stores (304 if the client's ETag is current)
     @GetMapping
-    public ResponseEntity<List<Store>> getAllStores() {
+    public ResponseEntity<List<Store>> getAllStores(WebRequest webRequest) {
         try {
+            if (resourceVersionService.checkNotModified(webRequest, ResourceVersionService.STORES)) {
+                return null;
+            }
+            
             // Auto-initialize data if database is empty
             if (dataInitializationService.needsInitialization()) {
                 dataInitializationService.initializeSampleData();
             }
             
-            List<Store> stores = storeRepository.findAll();
+            List<Store> stores = storeRepository.findAllCached();
             return ResponseEntity.ok(stores);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(List.of());
         }
     }
 
+    // Get the nearest active, verified stores around a point, with distances in km
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyStores(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(nearbyStoreService.findNearby(lat, lon, radiusKm, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error finding nearby stores: " + e.getMessage()
+            ));
+        }
+    }
+
+    // Get a store's daily revenue, units and order count (defaults to the last 30 days)
+    // storeId is the store's business key, e.g. /api/stores/store-001/sales?from=2025-01-01&to=2025-01-31
+    @GetMapping("/{storeId}/sales")
+    public ResponseEntity<Map<String, Object>> getStoreSales(
+            @PathVariable String storeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(salesRollupService.getStoreSeries(storeId, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error loading store sales: " + e.getMessage()
+            ));
+        }
+    }
+
+    // Rebuild the daily sales rollup from order lines (whole history when no range is given)
+    @PostMapping("/sales/backfill")
+    public ResponseEntity<Map<String, Object>> backfillStoreSales(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Store sales rollup rebuilt",
+                "result", salesRollupService.backfill(from, to)
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error rebuilding store sales: " + e.getMessage()
+            ));
+        }
+    }
+
     // Get store by ID
     @GetMapping("/{storeId}")
     public ResponseEntity<Store> getStoreById(@PathVariable Long storeId) {
         try {
-            Optional<Store> store = storeRepository.findById(storeId);
+            Optional<Store> store = storeRepository.findCachedById(storeId);
             if (store.isPresent()) {
                 return ResponseEntity.ok(store.get());
             } else {
@@ -76,6 +172,7 @@ public class StoreController {
 
     // Add new store
     @PostMapping
+    @CacheEvict(value = "stores", allEntries = true)
     public ResponseEntity<Map<String, Object>> addStore(@RequestBody Store store) {
         try {
             // Validate required fields
@@ -111,6 +208,11 @@ public class StoreController {
             }
             
             Store savedStore = storeRepository.save(store);
+            nearbyStoreService.indexStore(savedStore);
+            if (savedStore.getLowStockThreshold() != null) {
+                lowStockService.setThreshold(savedStore.getStoreId(), savedStore.getLowStockThreshold());
+            }
+            resourceVersionService.bump(ResourceVersionService.STORES);
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Store added successfully",
@@ -127,6 +229,7 @@ public class StoreController {
 
     // Update store
     @PutMapping("/{storeId}")
+    @CacheEvict(value = "stores", allEntries = true)
     public ResponseEntity<Map<String, Object>> updateStore(
             @PathVariable Long storeId, 
             @RequestBody Store storeDetails) {
@@ -134,14 +237,29 @@ public class StoreController {
             Optional<Store> storeOptional = storeRepository.findById(storeId);
             if (storeOptional.isPresent()) {
                 Store store = storeOptional.get();
+                String previousName = store.getStoreName();
                 store.setStoreName(storeDetails.getStoreName());
                 store.setDescription(storeDetails.getDescription());
                 store.setOwnerId(storeDetails.getOwnerId());
                 store.setOwnerEmail(storeDetails.getOwnerEmail());
                 store.setContactPhone(storeDetails.getContactPhone());
                 store.setAddress(storeDetails.getAddress());
+                if (storeDetails.getLatitude() != null && storeDetails.getLongitude() != null) {
+                    store.setLatitude(storeDetails.getLatitude());
+                    store.setLongitude(storeDetails.getLongitude());
+                }
+                if (storeDetails.getLowStockThreshold() != null) {
+                    store.setLowStockThreshold(storeDetails.getLowStockThreshold());
+                }
                 
                 Store updatedStore = storeRepository.save(store);
+                lowStockService.setThreshold(updatedStore.getStoreId(), updatedStore.getLowStockThreshold());
+                nearbyStoreService.indexStore(updatedStore);
+                resourceVersionService.bump(ResourceVersionService.STORES);
+                if (!Objects.equals(previousName, updatedStore.getStoreName()) && updatedStore.getStoreId() != null) {
+                    // Product and order rows copy the name; they are updated in the background
+                    storeRenameService.submit(updatedStore.getStoreId(), updatedStore.getStoreName());
+                }
                 return ResponseEntity.ok(Map.of(
                     "success", true,
                     "message", "Store updated successfully",
@@ -158,12 +276,62 @@ public class StoreController {
         }
     }
 
+    // Re-run propagation of a store's name to its products and order lines (safe to repeat)
+    @PostMapping("/{storeId}/propagate-name")
+    public ResponseEntity<Map<String, Object>> propagateStoreName(@PathVariable Long storeId) {
+        try {
+            Optional<Store> storeOptional = storeRepository.findById(storeId);
+            if (storeOptional.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            Store store = storeOptional.get();
+            return ResponseEntity.accepted().body(Map.of(
+                "success", true,
+                "message", "Store name propagation queued",
+                "job", storeRenameService.submit(store.getStoreId(), store.getStoreName())
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error queueing store name propagation: " + e.getMessage()
+            ));
+        }
+    }
+
+    // Get progress of store name propagation; ?storeId=store-001 returns a single store's latest job
+    @GetMapping("/renames")
+    public ResponseEntity<?> getRenameProgress(@RequestParam(required = false) String storeId) {
+        try {
+            if (storeId != null) {
+                Map<String, Object> progress = storeRenameService.getProgress(storeId);
+                if (progress == null) {
+                    return ResponseEntity.notFound().build();
+                }
+                return ResponseEntity.ok(progress);
+            }
+            return ResponseEntity.ok(storeRenameService.getAllProgress());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error loading rename progress: " + e.getMessage()
+            ));
+        }
+    }
+
     // Delete store
     @DeleteMapping("/{storeId}")
+    @CacheEvict(value = "stores", allEntries = true)
     public ResponseEntity<Map<String, Object>> deleteStore(@PathVariable Long storeId) {
         try {
             if (storeRepository.existsById(storeId)) {
                 storeRepository.deleteById(storeId);
+                nearbyStoreService.removeStore(storeId);
+                resourceVersionService.bump(ResourceVersionService.STORES);
                 return ResponseEntity.ok(Map.of(
                     "success", true,
                     "message", "Store deleted successfully"
@@ -179,14 +347,21 @@ public class StoreController {
         }
     }
 
-    // Get store statistics
+    // Get store statistics; per-store product and order counts come from maintained counters
+    // (live, unlike the counter columns of the cached store listings)
+    // ?storeId=store-001 returns the counts of a single store
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getStoreStats() {
+    public ResponseEntity<Map<String, Object>> getStoreStats(@RequestParam(required = false) String storeId) {
         try {
+            if (storeId != null) {
+                return ResponseEntity.ok(storeCounterService.getStoreCounts(storeId));
+            }
+            
             long totalStores = storeRepository.count();
             
             return ResponseEntity.ok(Map.of(
-                "totalStores", totalStores
+                "totalStores", totalStores,
+                "stores", storeCounterService.getAllStoreCounts()
             ));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of(
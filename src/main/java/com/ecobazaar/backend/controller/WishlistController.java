@@ -1,5 +1,6 @@
 package com.ecobazaar.backend.controller;
 
+import com.ecobazaar.backend.config.Idempotent;
 import com.ecobazaar.backend.service.WishlistService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +18,7 @@ public class WishlistController {
 
     // Add item to wishlist
     @PostMapping("/add")
+    @Idempotent
     public ResponseEntity<Map<String, Object>> addToWishlist(@RequestBody Map<String, Object> request) {
         try {
             String userId = (String) request.get("userId");
@@ -135,6 +137,7 @@ public class WishlistController {
 
     // Move item to cart
     @PostMapping("/move-to-cart")
+    @Idempotent
     public ResponseEntity<Map<String, Object>> moveToCart(@RequestParam String userId, @RequestParam String productId) {
         try {
             Map<String, Object> result = wishlistService.moveToCart(userId, productId);
@@ -0,0 +1,112 @@
+package com.ecobazaar.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Schema of orders_archive: the columns of orders plus archived_at. Rows are
+ * moved here by OrderArchiveService with INSERT ... SELECT and are never
+ * written through JPA.
+ */
+@Entity
+@Table(name = "orders_archive", indexes = {
+    @Index(name = "idx_orders_archive_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_orders_archive_status_created", columnList = "order_status, created_at"),
+    @Index(name = "idx_orders_archive_user_email", columnList = "user_email")
+})
+public class ArchivedOrder {
+    // Same id as in orders
+    @Id
+    @Column(name = "id")
+    private Long id;
+    
+    @Column(name = "order_id", unique = true, nullable = false)
+    private String orderId;
+    
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+    
+    @Column(name = "user_email", nullable = false)
+    private String userEmail;
+    
+    @Column(name = "user_name", nullable = false)
+    private String userName;
+    
+    @Column(name = "user_phone")
+    private String userPhone;
+    
+    @Column(name = "total_amount", nullable = false)
+    private Double totalAmount;
+    
+    @Column(name = "tax_amount")
+    private Double taxAmount;
+    
+    @Column(name = "shipping_amount")
+    private Double shippingAmount;
+    
+    @Column(name = "discount_amount")
+    private Double discountAmount;
+    
+    @Column(name = "final_amount", nullable = false)
+    private Double finalAmount;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_status", nullable = false)
+    private OrderStatus orderStatus;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status")
+    private PaymentStatus paymentStatus;
+    
+    @Column(name = "payment_method")
+    private String paymentMethod;
+    
+    @Column(name = "payment_id")
+    private String paymentId;
+    
+    @Column(name = "shipping_address", columnDefinition = "TEXT")
+    private String shippingAddress;
+    
+    @Column(name = "billing_address", columnDefinition = "TEXT")
+    private String billingAddress;
+    
+    @Column(name = "delivery_notes", columnDefinition = "TEXT")
+    private String deliveryNotes;
+    
+    @Column(name = "estimated_delivery")
+    private LocalDateTime estimatedDelivery;
+    
+    @Column(name = "tracking_number")
+    private String trackingNumber;
+    
+    @Column(name = "carbon_footprint")
+    private Double carbonFootprint;
+    
+    @Column(name = "eco_points_earned")
+    private Integer ecoPointsEarned;
+    
+    @Column(name = "currency")
+    private String currency = "INR";
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+    
+    // Constructors
+    public ArchivedOrder() {}
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
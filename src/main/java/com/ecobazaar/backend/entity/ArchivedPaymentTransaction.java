@@ -0,0 +1,75 @@
+package com.ecobazaar.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Schema of payment_transactions_archive: the columns of payment_transactions
+ * plus archived_at. Rows are moved here by OrderArchiveService with INSERT ...
+ * SELECT and are never written through JPA.
+ */
+@Entity
+@Table(name = "payment_transactions_archive", indexes = {
+    @Index(name = "idx_payment_transactions_archive_order_id", columnList = "order_id")
+})
+public class ArchivedPaymentTransaction {
+    // Same id as in payment_transactions
+    @Id
+    @Column(name = "id")
+    private Long id;
+    
+    @Column(name = "transaction_id", unique = true, nullable = false)
+    private String transactionId;
+    
+    @Column(name = "order_id", nullable = false)
+    private String orderId;
+    
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+    
+    @Column(name = "amount", nullable = false)
+    private Double amount;
+    
+    @Column(name = "currency")
+    private String currency = "INR";
+    
+    @Column(name = "payment_method")
+    private String paymentMethod;
+    
+    @Column(name = "payment_gateway")
+    private String paymentGateway;
+    
+    @Column(name = "gateway_transaction_id")
+    private String gatewayTransactionId;
+    
+    @Column(name = "status")
+    private String status;
+    
+    @Column(name = "failure_reason")
+    private String failureReason;
+    
+    @Column(name = "gateway_response", columnDefinition = "TEXT")
+    private String gatewayResponse;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+    
+    // Constructors
+    public ArchivedPaymentTransaction() {}
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
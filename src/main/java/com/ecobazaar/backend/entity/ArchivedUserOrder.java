@@ -0,0 +1,82 @@
+package com.ecobazaar.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Schema of user_orders_archive: the columns of user_orders plus archived_at.
+ * Rows are moved here by OrderArchiveService with INSERT ... SELECT and are
+ * never written through JPA.
+ */
+@Entity
+@Table(name = "user_orders_archive", indexes = {
+    @Index(name = "idx_user_orders_archive_order_id", columnList = "order_id"),
+    @Index(name = "idx_user_orders_archive_store_id", columnList = "store_id")
+})
+public class ArchivedUserOrder {
+    // Same id as in user_orders
+    @Id
+    @Column(name = "id")
+    private Long id;
+    
+    @Column(name = "user_order_id", unique = true, nullable = false)
+    private String userOrderId;
+    
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+    
+    @Column(name = "order_id", nullable = false)
+    private String orderId;
+    
+    @Column(name = "product_id", nullable = false)
+    private String productId;
+    
+    @Column(name = "product_name", nullable = false)
+    private String productName;
+    
+    @Column(name = "product_price", nullable = false)
+    private Double productPrice;
+    
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+    
+    @Column(name = "total_amount", nullable = false)
+    private Double totalAmount;
+    
+    @Column(name = "store_id")
+    private String storeId;
+    
+    @Column(name = "store_name")
+    private String storeName;
+    
+    @Column(name = "order_status")
+    private String orderStatus;
+    
+    @Column(name = "delivery_date")
+    private LocalDateTime deliveryDate;
+    
+    @Column(name = "tracking_number")
+    private String trackingNumber;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+    
+    // Constructors
+    public ArchivedUserOrder() {}
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
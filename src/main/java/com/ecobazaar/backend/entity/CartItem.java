@@ -1,5 +1,6 @@
 package com.ecobazaar.backend.entity;
 
+import com.ecobazaar.backend.config.PooledId;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -10,7 +11,7 @@ import java.time.LocalDateTime;
 @Table(name = "cart_items")
 public class CartItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     private Long id;
     
     @Column(name = "user_id", nullable = false)
@@ -1,5 +1,6 @@
 package com.ecobazaar.backend.entity;
 
+import com.ecobazaar.backend.config.PooledId;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -7,10 +8,15 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_orders_status_created", columnList = "order_status, created_at"),
+    @Index(name = "idx_orders_email_created", columnList = "user_email, created_at"),
+    @Index(name = "idx_orders_created", columnList = "created_at")
+})
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     private Long id;
     
     @Column(name = "order_id", unique = true, nullable = false)
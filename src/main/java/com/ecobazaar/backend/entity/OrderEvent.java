@@ -0,0 +1,174 @@
+package com.ecobazaar.backend.entity;
+
+import com.ecobazaar.backend.config.PooledId;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row for an order lifecycle event, written in the same transaction as
+ * the order change and delivered to in-process listeners by OrderEventDispatcher
+ */
+@Entity
+@Table(name = "order_events", indexes = {
+    @Index(name = "idx_order_events_status_next", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_order_events_order_id", columnList = "order_id")
+})
+public class OrderEvent {
+    public static final String ORDER_CREATED = "ORDER_CREATED";
+    public static final String ORDER_STATUS_CHANGED = "ORDER_STATUS_CHANGED";
+    public static final String ORDER_DELETED = "ORDER_DELETED";
+    
+    // Delivery states
+    public static final String PENDING = "PENDING";
+    public static final String DISPATCHED = "DISPATCHED";
+    public static final String FAILED = "FAILED";
+    
+    @Id
+    @PooledId
+    private Long id;
+    
+    // Business key of the order (orders.order_id)
+    @Column(name = "order_id", nullable = false)
+    private String orderId;
+    
+    @Column(name = "user_id")
+    private String userId;
+    
+    @Column(name = "event_type", nullable = false, length = 40)
+    private String eventType;
+    
+    @Column(name = "from_status", length = 20)
+    private String fromStatus;
+    
+    @Column(name = "to_status", length = 20)
+    private String toStatus;
+    
+    @Column(name = "status", nullable = false, length = 20)
+    private String status = PENDING;
+    
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+    
+    // Constructors
+    public OrderEvent() {}
+    
+    public OrderEvent(String orderId, String userId, String eventType, String fromStatus, String toStatus) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.eventType = eventType;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getOrderId() {
+        return orderId;
+    }
+    
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+    
+    public String getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+    
+    public String getEventType() {
+        return eventType;
+    }
+    
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+    
+    public String getFromStatus() {
+        return fromStatus;
+    }
+    
+    public void setFromStatus(String fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+    
+    public String getToStatus() {
+        return toStatus;
+    }
+    
+    public void setToStatus(String toStatus) {
+        this.toStatus = toStatus;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public Integer getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+    
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+    
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getDispatchedAt() {
+        return dispatchedAt;
+    }
+    
+    public void setDispatchedAt(LocalDateTime dispatchedAt) {
+        this.dispatchedAt = dispatchedAt;
+    }
+}
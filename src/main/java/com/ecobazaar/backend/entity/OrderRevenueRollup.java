@@ -0,0 +1,102 @@
+package com.ecobazaar.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Hourly or daily revenue and order count of the orders created in a bucket,
+ * by their current status and currency
+ */
+@Entity
+@Table(name = "order_revenue_rollups")
+@IdClass(OrderRevenueRollupId.class)
+public class OrderRevenueRollup {
+    public static final String HOUR = "HOUR";
+    public static final String DAY = "DAY";
+    
+    @Id
+    @Column(name = "granularity", length = 8)
+    private String granularity;
+    
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+    
+    @Id
+    @Column(name = "order_status", length = 20)
+    private String orderStatus;
+    
+    @Id
+    @Column(name = "currency", length = 10)
+    private String currency;
+    
+    @Column(name = "revenue", nullable = false)
+    private Double revenue = 0.0;
+    
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount = 0L;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public OrderRevenueRollup() {}
+    
+    // Getters and Setters
+    public String getGranularity() {
+        return granularity;
+    }
+    
+    public void setGranularity(String granularity) {
+        this.granularity = granularity;
+    }
+    
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+    
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+    
+    public String getOrderStatus() {
+        return orderStatus;
+    }
+    
+    public void setOrderStatus(String orderStatus) {
+        this.orderStatus = orderStatus;
+    }
+    
+    public String getCurrency() {
+        return currency;
+    }
+    
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+    
+    public Double getRevenue() {
+        return revenue;
+    }
+    
+    public void setRevenue(Double revenue) {
+        this.revenue = revenue;
+    }
+    
+    public Long getOrderCount() {
+        return orderCount;
+    }
+    
+    public void setOrderCount(Long orderCount) {
+        this.orderCount = orderCount;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
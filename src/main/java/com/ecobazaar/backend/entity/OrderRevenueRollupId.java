@@ -0,0 +1,41 @@
+package com.ecobazaar.backend.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Primary key of OrderRevenueRollup: one row per granularity, bucket, status and currency
+ */
+public class OrderRevenueRollupId implements Serializable {
+    private static final long serialVersionUID = 1L;
+    
+    private String granularity;
+    private LocalDateTime bucketStart;
+    private String orderStatus;
+    private String currency;
+    
+    // Constructors
+    public OrderRevenueRollupId() {}
+    
+    public OrderRevenueRollupId(String granularity, LocalDateTime bucketStart, String orderStatus, String currency) {
+        this.granularity = granularity;
+        this.bucketStart = bucketStart;
+        this.orderStatus = orderStatus;
+        this.currency = currency;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof OrderRevenueRollupId)) return false;
+        OrderRevenueRollupId that = (OrderRevenueRollupId) o;
+        return Objects.equals(granularity, that.granularity) && Objects.equals(bucketStart, that.bucketStart)
+            && Objects.equals(orderStatus, that.orderStatus) && Objects.equals(currency, that.currency);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(granularity, bucketStart, orderStatus, currency);
+    }
+}
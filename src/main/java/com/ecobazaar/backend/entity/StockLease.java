@@ -0,0 +1,63 @@
+package com.ecobazaar.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Units of a hot product taken from products.quantity into the in-memory
+ * lease. units is everything granted to the lease; the units it still holds
+ * are units minus the leased_units of its stock_reservations rows.
+ */
+@Entity
+@Table(name = "stock_leases")
+public class StockLease {
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+    
+    @Column(name = "lease_id", nullable = false, length = 36)
+    private String leaseId;
+    
+    @Column(name = "units", nullable = false)
+    private Integer units;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public StockLease() {}
+    
+    // Getters and Setters
+    public Long getProductId() {
+        return productId;
+    }
+    
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+    
+    public String getLeaseId() {
+        return leaseId;
+    }
+    
+    public void setLeaseId(String leaseId) {
+        this.leaseId = leaseId;
+    }
+    
+    public Integer getUnits() {
+        return units;
+    }
+    
+    public void setUnits(Integer units) {
+        this.units = units;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
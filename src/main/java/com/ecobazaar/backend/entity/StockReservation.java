@@ -0,0 +1,116 @@
+package com.ecobazaar.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stock held by a reservation until it is confirmed, released or expires.
+ *
+ * Rows that took units from an in-memory lease (leaseId set) stay as
+ * CONFIRMED after confirmation until the lease is returned, so the units a
+ * lease still holds can be recomputed after a crash.
+ */
+@Entity
+@Table(name = "stock_reservations", indexes = {
+    @Index(name = "idx_stock_reservations_status_expires", columnList = "status, expires_at"),
+    @Index(name = "idx_stock_reservations_lease_id", columnList = "lease_id")
+})
+public class StockReservation {
+    public static final String PENDING = "PENDING";
+    public static final String CONFIRMED = "CONFIRMED";
+    
+    @Id
+    @Column(name = "reservation_id", length = 36)
+    private String reservationId;
+    
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+    
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+    
+    // Lease the leased units came from, while that lease is open
+    @Column(name = "lease_id", length = 36)
+    private String leaseId;
+    
+    @Column(name = "leased_units", nullable = false)
+    private Integer leasedUnits;
+    
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    // Constructors
+    public StockReservation() {}
+    
+    // Getters and Setters
+    public String getReservationId() {
+        return reservationId;
+    }
+    
+    public void setReservationId(String reservationId) {
+        this.reservationId = reservationId;
+    }
+    
+    public Long getProductId() {
+        return productId;
+    }
+    
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+    
+    public Integer getQuantity() {
+        return quantity;
+    }
+    
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+    
+    public String getLeaseId() {
+        return leaseId;
+    }
+    
+    public void setLeaseId(String leaseId) {
+        this.leaseId = leaseId;
+    }
+    
+    public Integer getLeasedUnits() {
+        return leasedUnits;
+    }
+    
+    public void setLeasedUnits(Integer leasedUnits) {
+        this.leasedUnits = leasedUnits;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
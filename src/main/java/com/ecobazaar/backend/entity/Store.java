@@ -1,5 +1,6 @@
 package com.ecobazaar.backend.entity;
 
+import com.ecobazaar.backend.config.PooledId;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -10,7 +11,7 @@ import java.time.LocalDateTime;
 @Table(name = "stores")
 public class Store {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     private Long id;
     
     @Column(name = "store_id", unique = true, nullable = false)
@@ -58,9 +59,20 @@ public class Store {
     @Column(name = "eco_rating")
     private Double ecoRating;
     
-    @Column(name = "total_products")
+    // Counters are maintained by StoreCounterService with SQL; entity saves never write them back
+    @Column(name = "total_products", updatable = false)
     private Integer totalProducts = 0;
     
+    @Column(name = "active_products", updatable = false)
+    private Integer activeProducts = 0;
+    
+    @Column(name = "total_orders", updatable = false)
+    private Integer totalOrders = 0;
+    
+    // Products at or below this quantity count as low stock (null = application default)
+    @Column(name = "low_stock_threshold")
+    private Integer lowStockThreshold;
+    
     @Column(name = "logo_url")
     private String logoUrl;
     
@@ -222,6 +234,30 @@ public class Store {
         this.totalProducts = totalProducts;
     }
     
+    public Integer getActiveProducts() {
+        return activeProducts;
+    }
+    
+    public void setActiveProducts(Integer activeProducts) {
+        this.activeProducts = activeProducts;
+    }
+    
+    public Integer getTotalOrders() {
+        return totalOrders;
+    }
+    
+    public void setTotalOrders(Integer totalOrders) {
+        this.totalOrders = totalOrders;
+    }
+    
+    public Integer getLowStockThreshold() {
+        return lowStockThreshold;
+    }
+    
+    public void setLowStockThreshold(Integer lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+    }
+    
     public String getLogoUrl() {
         return logoUrl;
     }
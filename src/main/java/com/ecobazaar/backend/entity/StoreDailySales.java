@@ -0,0 +1,87 @@
+package com.ecobazaar.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Daily sales rollup of one store, maintained from UserOrder lines
+ * (cancelled lines are not counted)
+ */
+@Entity
+@Table(name = "store_daily_sales")
+@IdClass(StoreDailySalesId.class)
+public class StoreDailySales {
+    @Id
+    @Column(name = "store_id", length = 100)
+    private String storeId;
+    
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+    
+    @Column(name = "revenue", nullable = false)
+    private Double revenue = 0.0;
+    
+    @Column(name = "units", nullable = false)
+    private Long units = 0L;
+    
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount = 0L;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public StoreDailySales() {}
+    
+    // Getters and Setters
+    public String getStoreId() {
+        return storeId;
+    }
+    
+    public void setStoreId(String storeId) {
+        this.storeId = storeId;
+    }
+    
+    public LocalDate getSalesDate() {
+        return salesDate;
+    }
+    
+    public void setSalesDate(LocalDate salesDate) {
+        this.salesDate = salesDate;
+    }
+    
+    public Double getRevenue() {
+        return revenue;
+    }
+    
+    public void setRevenue(Double revenue) {
+        this.revenue = revenue;
+    }
+    
+    public Long getUnits() {
+        return units;
+    }
+    
+    public void setUnits(Long units) {
+        this.units = units;
+    }
+    
+    public Long getOrderCount() {
+        return orderCount;
+    }
+    
+    public void setOrderCount(Long orderCount) {
+        this.orderCount = orderCount;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
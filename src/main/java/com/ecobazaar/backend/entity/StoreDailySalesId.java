@@ -0,0 +1,36 @@
+package com.ecobazaar.backend.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Primary key of StoreDailySales: one row per store and day
+ */
+public class StoreDailySalesId implements Serializable {
+    private static final long serialVersionUID = 1L;
+    
+    private String storeId;
+    private LocalDate salesDate;
+    
+    // Constructors
+    public StoreDailySalesId() {}
+    
+    public StoreDailySalesId(String storeId, LocalDate salesDate) {
+        this.storeId = storeId;
+        this.salesDate = salesDate;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof StoreDailySalesId)) return false;
+        StoreDailySalesId that = (StoreDailySalesId) o;
+        return Objects.equals(storeId, that.storeId) && Objects.equals(salesDate, that.salesDate);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(storeId, salesDate);
+    }
+}
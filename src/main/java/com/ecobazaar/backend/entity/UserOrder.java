@@ -1,5 +1,6 @@
 package com.ecobazaar.backend.entity;
 
+import com.ecobazaar.backend.config.PooledId;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -7,10 +8,13 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_orders")
+@Table(name = "user_orders", indexes = {
+    @Index(name = "idx_user_orders_store_id", columnList = "store_id"),
+    @Index(name = "idx_user_orders_order_id", columnList = "order_id")
+})
 public class UserOrder {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     private Long id;
     
     @Column(name = "user_order_id", unique = true, nullable = false)
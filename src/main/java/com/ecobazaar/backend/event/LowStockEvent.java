@@ -0,0 +1,68 @@
+package com.ecobazaar.backend.event;
+
+/**
+ * Published when a product's stock crosses its store's low-stock threshold,
+ * in either direction. Listeners subscribe with @EventListener and run on the
+ * thread that changed the stock.
+ */
+public class LowStockEvent {
+
+    public enum Type {
+        // Quantity dropped to or below the threshold
+        LOW_STOCK,
+        // Quantity went back above the threshold
+        RESTOCKED
+    }
+
+    private final Type type;
+    private final Long productId;
+    private final String storeId;
+    private final int previousQuantity;
+    private final int quantity;
+    private final int threshold;
+
+    public LowStockEvent(Type type, Long productId, String storeId, int previousQuantity, int quantity, int threshold) {
+        this.type = type;
+        this.productId = productId;
+        this.storeId = storeId;
+        this.previousQuantity = previousQuantity;
+        this.quantity = quantity;
+        this.threshold = threshold;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getStoreId() {
+        return storeId;
+    }
+
+    public int getPreviousQuantity() {
+        return previousQuantity;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    @Override
+    public String toString() {
+        return "LowStockEvent{" +
+                "type=" + type +
+                ", productId=" + productId +
+                ", storeId='" + storeId + '\'' +
+                ", previousQuantity=" + previousQuantity +
+                ", quantity=" + quantity +
+                ", threshold=" + threshold +
+                '}';
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecobazaar.backend.model;
+
+/**
+ * One entry of a bulk product update; null fields are left unchanged
+ */
+public class ProductBulkUpdate {
+    private Long productId;
+    private Double price;
+    private Integer quantity;
+    private Boolean isActive;
+
+    // Default constructor
+    public ProductBulkUpdate() {}
+
+    // Constructor with parameters
+    public ProductBulkUpdate(Long productId, Double price, Integer quantity, Boolean isActive) {
+        this.productId = productId;
+        this.price = price;
+        this.quantity = quantity;
+        this.isActive = isActive;
+    }
+
+    // Getters and Setters
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    public void setIsActive(Boolean isActive) {
+        this.isActive = isActive;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductBulkUpdate{" +
+                "productId=" + productId +
+                ", price=" + price +
+                ", quantity=" + quantity +
+                ", isActive=" + isActive +
+                '}';
+    }
+}
@@ -0,0 +1,9 @@
+package com.ecobazaar.backend.repository;
+
+import com.ecobazaar.backend.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+}
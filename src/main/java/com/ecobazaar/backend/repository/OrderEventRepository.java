@@ -0,0 +1,24 @@
+package com.ecobazaar.backend.repository;
+
+import com.ecobazaar.backend.entity.OrderEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+    
+    // Oldest first, and never ahead of an earlier undelivered event of the same order
+    @Query("SELECT e FROM OrderEvent e WHERE e.status = 'PENDING' AND e.nextAttemptAt <= :now " +
+           "AND NOT EXISTS (SELECT p.id FROM OrderEvent p WHERE p.orderId = e.orderId AND p.status = 'PENDING' AND p.id < e.id) " +
+           "ORDER BY e.id")
+    List<OrderEvent> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    @Query("SELECT e.status, COUNT(e) FROM OrderEvent e GROUP BY e.status")
+    List<Object[]> countByStatus();
+}
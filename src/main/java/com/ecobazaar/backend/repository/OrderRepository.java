@@ -2,7 +2,10 @@ package com.ecobazaar.backend.repository;
 
 import com.ecobazaar.backend.entity.Order;
 import com.ecobazaar.backend.entity.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,6 +23,21 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserEmail(String userEmail);
     long countByOrderStatus(OrderStatus status);
     
+    // Locks the row until the transaction ends, so concurrent status changes of one order run one after the other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") Long id);
+    
+    // Orders moved out of the orders table by OrderArchiveService keep their id
+    @Query(value = "SELECT * FROM orders_archive WHERE id = :id", nativeQuery = true)
+    Optional<Order> findArchivedById(@Param("id") Long id);
+    
+    // Live order by id, falling through to the archive
+    default Optional<Order> findByIdOrArchived(Long id) {
+        Optional<Order> order = findById(id);
+        return order.isPresent() ? order : findArchivedById(id);
+    }
+    
     @Query("SELECT o FROM Order o WHERE o.createdAt >= :startDate AND o.createdAt <= :endDate")
     List<Order> findOrdersByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
     
@@ -31,5 +49,51 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     
     @Query("SELECT o FROM Order o ORDER BY o.createdAt DESC")
     List<Order> findAllOrderByCreatedAtDesc();
+    
+    // Keyset pagination, newest first: (createdAt, id) descending.
+    // Each filter is served by the composite index declared on Order; the
+    // createdAt <= bound comes first so it is usable as an index range.
+    @Query("SELECT o FROM Order o ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findFirstPage(Pageable pageable);
+    
+    @Query("SELECT o FROM Order o WHERE o.createdAt <= :createdAt " +
+           "AND (o.createdAt < :createdAt OR o.id < :id) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageAfterCursor(@Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
+    
+    @Query("SELECT o FROM Order o WHERE o.userId = :userId ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findFirstPageByUserId(@Param("userId") String userId, Pageable pageable);
+    
+    @Query("SELECT o FROM Order o WHERE o.userId = :userId AND (o.createdAt <= :createdAt " +
+           "AND (o.createdAt < :createdAt OR o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageByUserIdAfterCursor(@Param("userId") String userId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+    
+    @Query("SELECT o FROM Order o WHERE o.orderStatus = :status ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findFirstPageByOrderStatus(@Param("status") OrderStatus status, Pageable pageable);
+    
+    @Query("SELECT o FROM Order o WHERE o.orderStatus = :status AND (o.createdAt <= :createdAt " +
+           "AND (o.createdAt < :createdAt OR o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageByOrderStatusAfterCursor(@Param("status") OrderStatus status,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+    
+    @Query("SELECT o FROM Order o WHERE o.userEmail = :userEmail ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findFirstPageByUserEmail(@Param("userEmail") String userEmail, Pageable pageable);
+    
+    @Query("SELECT o FROM Order o WHERE o.userEmail = :userEmail AND (o.createdAt <= :createdAt " +
+           "AND (o.createdAt < :createdAt OR o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageByUserEmailAfterCursor(@Param("userEmail") String userEmail,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
 }
 
@@ -1,17 +1,29 @@
 package com.ecobazaar.backend.repository;
 
 import com.ecobazaar.backend.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+    @Cacheable(value = "products", key = "'store:' + #p0")
     List<Product> findByStoreId(String storeId);
+    
+    @Cacheable(value = "products", key = "'category:' + #p0")
     List<Product> findByCategory(String category);
+    
     List<Product> findByIsActiveTrue();
     List<Product> findByIsActiveFalse();
     List<Product> findByNameContainingIgnoreCase(String name);
@@ -22,10 +34,48 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT p FROM Product p WHERE p.storeId = :storeId AND p.isActive = true")
     List<Product> findActiveProductsByStoreId(@Param("storeId") String storeId);
     
+    @Cacheable(value = "products", key = "'categories'")
     @Query("SELECT DISTINCT p.category FROM Product p WHERE p.isActive = true")
     List<String> findDistinctCategories();
     
     @Query("SELECT COUNT(p) FROM Product p WHERE p.storeId = :storeId")
     Long countByStoreId(@Param("storeId") String storeId);
+    
+    // Read-only lookup for the product detail endpoint; update paths keep using findById
+    @Cacheable(value = "products", key = "'id:' + #p0")
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findCachedById(@Param("id") Long id);
+    
+    // Keyset pagination, newest first: (createdAt, id) descending
+    @Query("SELECT p FROM Product p ORDER BY p.createdAt DESC, p.id DESC")
+    List<Product> findFirstPageByCreatedAt(Pageable pageable);
+    
+    @Query("SELECT p FROM Product p WHERE p.createdAt < :createdAt " +
+           "OR (p.createdAt = :createdAt AND p.id < :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Product> findPageByCreatedAtAfterCursor(@Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+    
+    // Keyset pagination, cheapest first: (price, id) ascending
+    @Query("SELECT p FROM Product p ORDER BY p.price ASC, p.id ASC")
+    List<Product> findFirstPageByPrice(Pageable pageable);
+    
+    @Query("SELECT p FROM Product p WHERE p.price > :price " +
+           "OR (p.price = :price AND p.id > :id) " +
+           "ORDER BY p.price ASC, p.id ASC")
+    List<Product> findPageByPriceAfterCursor(@Param("price") Double price,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+    
+    // Forward-only stream over the whole catalog, fetched 500 rows at a time
+    // (MySQL only honours the fetch size with useCursorFetch=true, see application.properties)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAllProducts();
 }
 
@@ -0,0 +1,14 @@
+package com.ecobazaar.backend.repository;
+
+import com.ecobazaar.backend.entity.StoreDailySales;
+import com.ecobazaar.backend.entity.StoreDailySalesId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface StoreDailySalesRepository extends JpaRepository<StoreDailySales, StoreDailySalesId> {
+    List<StoreDailySales> findByStoreIdAndSalesDateBetweenOrderBySalesDate(String storeId, LocalDate from, LocalDate to);
+}
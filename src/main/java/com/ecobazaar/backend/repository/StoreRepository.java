@@ -1,7 +1,10 @@
 package com.ecobazaar.backend.repository;
 
 import com.ecobazaar.backend.entity.Store;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,7 +13,10 @@ import java.util.Optional;
 @Repository
 public interface StoreRepository extends JpaRepository<Store, Long> {
     Optional<Store> findByStoreId(String storeId);
+    
+    @Cacheable(value = "stores", key = "'owner:' + #p0")
     List<Store> findByOwnerId(String ownerId);
+    
     List<Store> findByIsActiveTrue();
     List<Store> findByIsVerifiedTrue();
     List<Store> findByCity(String city);
@@ -18,4 +24,13 @@ public interface StoreRepository extends JpaRepository<Store, Long> {
     List<Store> findByStoreNameContainingIgnoreCase(String name);
     boolean existsByStoreId(String storeId);
     boolean existsByOwnerId(String ownerId);
+    
+    // Read-only lookups for the store endpoints; update paths keep using findById
+    @Cacheable(value = "stores", key = "'all'")
+    @Query("SELECT s FROM Store s")
+    List<Store> findAllCached();
+    
+    @Cacheable(value = "stores", key = "'id:' + #p0")
+    @Query("SELECT s FROM Store s WHERE s.id = :id")
+    Optional<Store> findCachedById(@Param("id") Long id);
 }
@@ -0,0 +1,689 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.CartItem;
+import com.ecobazaar.backend.repository.CartItemRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Cart Store Service
+ *
+ * Holds active carts in memory per user, guarded by striped locks, so cart
+ * reads and mutations never wait for the database. A cart is loaded from
+ * cart_items on first use; changes are only marked dirty, and a scheduled
+ * flush writes every dirty cart back with JDBC batches (new lines as INSERTs,
+ * changed lines as UPDATEs, removed lines as DELETEs), so repeated changes to
+ * a line between flushes cost one write. Pending changes are also flushed at
+ * shutdown.
+ *
+ * A user's changes are captured and written while its stripe is locked, so
+ * writes for one user are never reordered. With cart.store.write-through
+ * enabled every mutation is written before it returns, trading latency for
+ * not losing the last interval of changes if the process dies; a change that
+ * cannot be written is undone and the call fails. Clean carts
+ * are dropped from memory after the idle timeout. Every mutation evicts the
+ * user's cached CartSummaryService summary.
+ */
+@Service
+public class CartStoreService {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO cart_items (id, user_id, product_id, product_name, price, quantity, image_url, category, " +
+        "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SQL =
+        "UPDATE cart_items SET product_name = ?, price = ?, quantity = ?, image_url = ?, category = ?, " +
+        "updated_at = ? WHERE id = ?";
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${cart.store.write-through:false}")
+    private boolean writeThrough;
+
+    @Value("${cart.store.idle-minutes:30}")
+    private long idleMinutes;
+
+    private final TransactionTemplate flushTransaction;
+
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    // userId -> cart; only read or changed under the user's stripe lock
+    private final Map<String, UserCart> carts = new ConcurrentHashMap<>();
+
+    // cart item id -> userId, for the endpoints addressed by item id
+    private final Map<Long, String> owners = new ConcurrentHashMap<>();
+
+    // Users with changes not yet written
+    private final Set<String> dirtyUsers = ConcurrentHashMap.newKeySet();
+
+    private SessionFactoryImplementor sessionFactory;
+
+    private IdentifierGenerator idGenerator;
+
+    public CartStoreService(PlatformTransactionManager transactionManager) {
+        // Flushes commit on their own, also when called from inside another transaction
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Use the cart_items pooled id generator, so lines get their final id before they are written
+     */
+    @PostConstruct
+    public void initialize() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        idGenerator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+            .getEntityDescriptor(CartItem.class).getGenerator();
+    }
+
+    /**
+     * Items in the user's cart, in the order they were added
+     */
+    public List<CartItem> getCart(String userId) {
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            List<CartItem> items = new ArrayList<>();
+            for (CartItem item : cartOf(userId).items.values()) {
+                items.add(copy(item));
+            }
+            return items;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Items in the user's cart if it is held in memory, without loading it
+     */
+    public Optional<List<CartItem>> findLoadedCart(String userId) {
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            UserCart cart = carts.get(userId);
+            if (cart == null) {
+                return Optional.empty();
+            }
+            List<CartItem> items = new ArrayList<>();
+            for (CartItem item : cart.items.values()) {
+                items.add(copy(item));
+            }
+            return Optional.of(items);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Add a product to the user's cart, or add to its quantity if it is already there
+     *
+     * @return the cart line
+     */
+    public CartItem addItem(String userId, String productId, String productName, Double price,
+                            int quantity, String imageUrl) {
+        return mutate(userId, writeThrough,
+            cart -> copy(add(userId, cart, productId, productName, price, quantity, imageUrl)));
+    }
+
+    /**
+     * Set the quantity of a cart line
+     *
+     * @return the updated line, or empty if there is no line with the id
+     */
+    public Optional<CartItem> updateQuantity(Long cartId, int quantity) {
+        String userId = ownerOf(cartId);
+        if (userId == null) {
+            return Optional.empty();
+        }
+        return mutate(userId, writeThrough, cart -> {
+            if (!cart.items.containsKey(cartId)) {
+                return Optional.empty();
+            }
+            return Optional.of(copy(update(userId, cart, cartId, quantity)));
+        });
+    }
+
+    /**
+     * Remove a cart line
+     *
+     * @return false if there is no line with the id
+     */
+    public boolean removeItem(Long cartId) {
+        String userId = ownerOf(cartId);
+        if (userId == null) {
+            return false;
+        }
+        return mutate(userId, writeThrough, cart -> {
+            if (!cart.items.containsKey(cartId)) {
+                return false;
+            }
+            remove(userId, cart, cartId);
+            return true;
+        });
+    }
+
+    /**
+     * Remove every line of the user's cart
+     */
+    public void clear(String userId) {
+        mutate(userId, writeThrough, cart -> {
+            for (Long id : new ArrayList<>(cart.items.keySet())) {
+                remove(userId, cart, id);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Apply several add, update and remove operations to one user's cart
+     *
+     * Every operation is checked before any is applied, and they are applied
+     * together under the cart's lock, so either all or none take effect. The
+     * resulting changes are written before this returns, in one transaction of
+     * batched statements, also when the store otherwise writes behind.
+     *
+     * @return the cart after the operations
+     * @throws IllegalArgumentException if an operation is invalid or names a line not in the cart
+     * @throws IllegalStateException if the changes could not be written; the cart is then unchanged
+     */
+    public List<CartItem> applyBatch(String userId, List<CartOperation> operations) {
+        return mutate(userId, true, cart -> {
+            Set<Long> removedIds = new HashSet<>();
+            for (int i = 0; i < operations.size(); i++) {
+                CartOperation operation = operations.get(i);
+                if (operation.getType() != CartOperation.Type.REMOVE && operation.getQuantity() <= 0) {
+                    throw new IllegalArgumentException("Operation " + i + ": quantity must be positive");
+                }
+                if (operation.getType() == CartOperation.Type.ADD) {
+                    continue;
+                }
+                if (!cart.items.containsKey(operation.getCartId()) || removedIds.contains(operation.getCartId())) {
+                    throw new IllegalArgumentException("Operation " + i + ": cart item " + operation.getCartId()
+                        + " is not in the cart");
+                }
+                if (operation.getType() == CartOperation.Type.REMOVE) {
+                    removedIds.add(operation.getCartId());
+                }
+            }
+
+            for (CartOperation operation : operations) {
+                switch (operation.getType()) {
+                    case ADD -> add(userId, cart, operation.getProductId(), operation.getProductName(),
+                        operation.getPrice(), operation.getQuantity(), operation.getImageUrl());
+                    case UPDATE -> update(userId, cart, operation.getCartId(), operation.getQuantity());
+                    case REMOVE -> remove(userId, cart, operation.getCartId());
+                }
+            }
+            List<CartItem> items = new ArrayList<>();
+            for (CartItem item : cart.items.values()) {
+                items.add(copy(item));
+            }
+            return items;
+        });
+    }
+
+    /**
+     * Turn the user's cart into an order while no other change to it can run
+     *
+     * The stripe lock is held from reading the lines until the order is
+     * placed, so a line added meanwhile waits and stays in the cart. The
+     * callback gets the current lines, must delete them from cart_items and
+     * commit before it returns; the lines are then dropped from memory. If it
+     * throws, the cart is left as it was.
+     */
+    public <T> T checkout(String userId, Function<List<CartItem>, T> placeOrder) {
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            UserCart cart = cartOf(userId);
+            List<CartItem> items = new ArrayList<>();
+            for (CartItem item : cart.items.values()) {
+                items.add(copy(item));
+            }
+            T result = placeOrder.apply(items);
+            for (CartItem item : items) {
+                cart.items.remove(item.getId());
+                cart.dirty.remove(item.getId());
+                cart.unsaved.remove(item.getId());
+                owners.remove(item.getId());
+            }
+            return result;
+        } finally {
+            lock.unlock();
+            evictSummary(userId);
+        }
+    }
+
+    /**
+     * Write every dirty cart, one JDBC batch per lock stripe, then drop idle clean carts
+     */
+    @Scheduled(fixedDelayString = "${cart.store.flush-interval-ms:2000}")
+    public void flush() {
+        Map<Integer, List<String>> usersByStripe = new LinkedHashMap<>();
+        for (String userId : dirtyUsers) {
+            usersByStripe.computeIfAbsent(stripeOf(userId), stripe -> new ArrayList<>()).add(userId);
+        }
+        for (Map.Entry<Integer, List<String>> entry : usersByStripe.entrySet()) {
+            ReentrantLock lock = locks[entry.getKey()];
+            lock.lock();
+            try {
+                Map<String, UserCart> batch = new LinkedHashMap<>();
+                for (String userId : entry.getValue()) {
+                    UserCart cart = carts.get(userId);
+                    if (cart != null && cart.hasChanges()) {
+                        batch.put(userId, cart);
+                    } else {
+                        dirtyUsers.remove(userId);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    write(batch);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        evictIdle();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Number of carts held in memory and of carts with unwritten changes
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("carts", carts.size());
+        stats.put("dirtyCarts", dirtyUsers.size());
+        stats.put("writeThrough", writeThrough);
+        return stats;
+    }
+
+    /**
+     * Write the pending changes of carts whose stripe lock is held by the caller
+     *
+     * @return false if the write failed; the changes then stay pending
+     */
+    private boolean write(Map<String, UserCart> batch) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (UserCart cart : batch.values()) {
+            for (Long id : cart.dirty) {
+                CartItem item = cart.items.get(id);
+                Timestamp updatedAt = item.getUpdatedAt() != null ? Timestamp.valueOf(item.getUpdatedAt()) : now;
+                if (cart.unsaved.contains(id)) {
+                    inserts.add(new Object[] {
+                        id, item.getUserId(), item.getProductId(), item.getProductName(), item.getPrice(),
+                        item.getQuantity(), item.getImageUrl(), item.getCategory(),
+                        item.getCreatedAt() != null ? Timestamp.valueOf(item.getCreatedAt()) : now, updatedAt
+                    });
+                } else {
+                    updates.add(new Object[] {
+                        item.getProductName(), item.getPrice(), item.getQuantity(), item.getImageUrl(),
+                        item.getCategory(), updatedAt, id
+                    });
+                }
+            }
+            for (Long id : cart.removed) {
+                deletes.add(new Object[] { id });
+            }
+        }
+
+        try {
+            flushTransaction.executeWithoutResult(status -> {
+                if (!deletes.isEmpty()) {
+                    jdbcTemplate.batchUpdate("DELETE FROM cart_items WHERE id = ?", deletes);
+                }
+                if (!inserts.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+                }
+                if (!updates.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+                }
+            });
+        } catch (Exception e) {
+            // Keep everything pending for the next flush; memory still has the latest state
+            batch.keySet().forEach(dirtyUsers::add);
+            System.err.println("Error writing carts: " + e.getMessage());
+            return false;
+        }
+        batch.forEach((userId, cart) -> {
+            cart.unsaved.removeAll(cart.dirty);
+            cart.dirty.clear();
+            cart.removed.clear();
+            dirtyUsers.remove(userId);
+        });
+        return true;
+    }
+
+    /**
+     * Drop carts that have no pending changes and were not used within the idle timeout
+     */
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleMinutes * 60_000;
+        for (Map.Entry<String, UserCart> entry : carts.entrySet()) {
+            if (entry.getValue().lastAccess >= cutoff) {
+                continue;
+            }
+            String userId = entry.getKey();
+            ReentrantLock lock = lockFor(userId);
+            lock.lock();
+            try {
+                UserCart cart = carts.get(userId);
+                if (cart != null && cart.lastAccess < cutoff && !cart.hasChanges()) {
+                    carts.remove(userId);
+                    cart.items.keySet().forEach(owners::remove);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Run a change to the user's cart under its stripe lock, then drop the cached summary
+     *
+     * With writeNow the cart's pending changes are written before the lock is
+     * released. The summary is evicted only after the lock is released: a
+     * summary being computed from this cart holds the cache entry and waits for
+     * the lock.
+     */
+    private <T> T mutate(String userId, boolean writeNow, Function<UserCart, T> change) {
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            UserCart cart = cartOf(userId);
+            UserCart before = writeNow ? cart.copy() : null;
+            T result = change.apply(cart);
+            if (writeNow && cart.hasChanges() && !write(Map.of(userId, cart))) {
+                // Nothing was written, so the change must not be reported as done
+                cart.items.keySet().forEach(owners::remove);
+                before.items.keySet().forEach(id -> owners.put(id, userId));
+                carts.put(userId, before);
+                throw new IllegalStateException("Could not save the cart");
+            }
+            return result;
+        } finally {
+            lock.unlock();
+            evictSummary(userId);
+        }
+    }
+
+    private CartItem add(String userId, UserCart cart, String productId, String productName, Double price,
+                         int quantity, String imageUrl) {
+        LocalDateTime now = LocalDateTime.now();
+        CartItem item = cart.findByProductId(productId);
+        if (item != null) {
+            item.setQuantity(item.getQuantity() + quantity);
+            item.setUpdatedAt(now);
+        } else {
+            item = new CartItem(userId, productId, productName, price, quantity);
+            item.setId(nextId());
+            item.setImageUrl(imageUrl);
+            item.setCreatedAt(now);
+            item.setUpdatedAt(now);
+            cart.items.put(item.getId(), item);
+            cart.unsaved.add(item.getId());
+            owners.put(item.getId(), userId);
+        }
+        changed(userId, cart, item.getId());
+        return item;
+    }
+
+    private CartItem update(String userId, UserCart cart, Long cartId, int quantity) {
+        CartItem item = cart.items.get(cartId);
+        item.setQuantity(quantity);
+        item.setUpdatedAt(LocalDateTime.now());
+        changed(userId, cart, cartId);
+        return item;
+    }
+
+    private void remove(String userId, UserCart cart, Long cartId) {
+        cart.remove(cartId);
+        owners.remove(cartId);
+        changed(userId, cart, null);
+    }
+
+    private void evictSummary(String userId) {
+        Cache summaries = cacheManager.getCache(CartSummaryService.CACHE);
+        if (summaries != null) {
+            // Immediate even inside a transaction, unlike evict()
+            summaries.evictIfPresent(userId);
+        }
+    }
+
+    /**
+     * Record a change to the cart, for the next flush (or the end of mutate() if it writes at once)
+     */
+    private void changed(String userId, UserCart cart, Long cartId) {
+        if (cartId != null) {
+            cart.dirty.add(cartId);
+        }
+        dirtyUsers.add(userId);
+    }
+
+    /**
+     * The user's cart, loaded from cart_items on first use; the stripe lock must be held
+     */
+    private UserCart cartOf(String userId) {
+        UserCart cart = carts.get(userId);
+        if (cart == null) {
+            cart = new UserCart();
+            for (CartItem item : cartItemRepository.findByUserId(userId)) {
+                cart.items.put(item.getId(), item);
+                owners.put(item.getId(), userId);
+            }
+            carts.put(userId, cart);
+        }
+        cart.lastAccess = System.currentTimeMillis();
+        return cart;
+    }
+
+    /**
+     * Owner of a cart line, from memory or else from cart_items
+     */
+    private String ownerOf(Long cartId) {
+        if (cartId == null) {
+            return null;
+        }
+        String userId = owners.get(cartId);
+        if (userId == null) {
+            List<String> found = jdbcTemplate.queryForList("SELECT user_id FROM cart_items WHERE id = ?",
+                String.class, cartId);
+            userId = found.isEmpty() ? null : found.get(0);
+        }
+        return userId;
+    }
+
+    private Long nextId() {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return (Long) idGenerator.generate((SharedSessionContractImplementor) session, null);
+        }
+    }
+
+    private int stripeOf(String userId) {
+        return Math.floorMod(userId.hashCode(), LOCK_STRIPES);
+    }
+
+    private ReentrantLock lockFor(String userId) {
+        return locks[stripeOf(userId)];
+    }
+
+    private static CartItem copy(CartItem item) {
+        CartItem copy = new CartItem(item.getUserId(), item.getProductId(), item.getProductName(),
+            item.getPrice(), item.getQuantity());
+        copy.setId(item.getId());
+        copy.setImageUrl(item.getImageUrl());
+        copy.setCategory(item.getCategory());
+        copy.setCreatedAt(item.getCreatedAt());
+        copy.setUpdatedAt(item.getUpdatedAt());
+        return copy;
+    }
+
+    /**
+     * A user's cart lines and the changes not yet written
+     */
+    private static final class UserCart {
+
+        // id -> line, in the order the lines were added
+        final Map<Long, CartItem> items = new LinkedHashMap<>();
+
+        // Lines added or changed since the last write
+        final Set<Long> dirty = new HashSet<>();
+
+        // Lines that have never been written (INSERT instead of UPDATE)
+        final Set<Long> unsaved = new HashSet<>();
+
+        // Written lines removed since the last write
+        final Set<Long> removed = new HashSet<>();
+
+        volatile long lastAccess;
+
+        CartItem findByProductId(String productId) {
+            for (CartItem item : items.values()) {
+                if (item.getProductId().equals(productId)) {
+                    return item;
+                }
+            }
+            return null;
+        }
+
+        void remove(Long id) {
+            items.remove(id);
+            dirty.remove(id);
+            if (!unsaved.remove(id)) {
+                removed.add(id);
+            }
+        }
+
+        boolean hasChanges() {
+            return !dirty.isEmpty() || !removed.isEmpty();
+        }
+
+        UserCart copy() {
+            UserCart copy = new UserCart();
+            items.forEach((id, item) -> copy.items.put(id, CartStoreService.copy(item)));
+            copy.dirty.addAll(dirty);
+            copy.unsaved.addAll(unsaved);
+            copy.removed.addAll(removed);
+            copy.lastAccess = lastAccess;
+            return copy;
+        }
+    }
+
+    /**
+     * One operation of a batched cart change
+     */
+    public static final class CartOperation {
+
+        public enum Type { ADD, UPDATE, REMOVE }
+
+        private final Type type;
+        private final Long cartId;
+        private final String productId;
+        private final String productName;
+        private final Double price;
+        private final int quantity;
+        private final String imageUrl;
+
+        private CartOperation(Type type, Long cartId, String productId, String productName, Double price,
+                              int quantity, String imageUrl) {
+            this.type = type;
+            this.cartId = cartId;
+            this.productId = productId;
+            this.productName = productName;
+            this.price = price;
+            this.quantity = quantity;
+            this.imageUrl = imageUrl;
+        }
+
+        public static CartOperation add(String productId, String productName, Double price, int quantity,
+                                        String imageUrl) {
+            return new CartOperation(Type.ADD, null, productId, productName, price, quantity, imageUrl);
+        }
+
+        public static CartOperation update(Long cartId, int quantity) {
+            return new CartOperation(Type.UPDATE, cartId, null, null, null, quantity, null);
+        }
+
+        public static CartOperation remove(Long cartId) {
+            return new CartOperation(Type.REMOVE, cartId, null, null, null, 0, null);
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public Long getCartId() {
+            return cartId;
+        }
+
+        public String getProductId() {
+            return productId;
+        }
+
+        public String getProductName() {
+            return productName;
+        }
+
+        public Double getPrice() {
+            return price;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public String getImageUrl() {
+            return imageUrl;
+        }
+    }
+}
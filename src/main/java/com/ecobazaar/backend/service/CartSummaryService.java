@@ -0,0 +1,74 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.CartItem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cart Summary Service
+ *
+ * Item count, distinct lines and total of a user's cart, for the header
+ * badge. Summaries are cached per user in the cartSummaries cache and evicted
+ * by CartStoreService on every cart change. A cart the store already holds
+ * is summed in memory (it may have changes not yet written); otherwise one
+ * aggregate query over cart_items computes all three numbers without loading
+ * the cart.
+ */
+@Service
+public class CartSummaryService {
+
+    public static final String CACHE = "cartSummaries";
+
+    private static final String SUMMARY_SQL =
+        "SELECT COALESCE(SUM(quantity), 0) AS item_count, COUNT(*) AS line_count, " +
+        "COALESCE(SUM(price * quantity), 0) AS total FROM cart_items WHERE user_id = ?";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CartStoreService cartStoreService;
+
+    /**
+     * Summary of the user's cart
+     *
+     * @return Map with count (units), items (distinct lines) and total
+     */
+    public Map<String, Object> getSummary(String userId) {
+        Cache summaries = cacheManager.getCache(CACHE);
+        if (summaries == null) {
+            return load(userId);
+        }
+        // Loaded atomically per key, so an eviction racing with the load is not lost
+        return summaries.get(userId, () -> load(userId));
+    }
+
+    private Map<String, Object> load(String userId) {
+        Optional<List<CartItem>> loaded = cartStoreService.findLoadedCart(userId);
+        if (loaded.isPresent()) {
+            long count = 0;
+            double total = 0;
+            for (CartItem item : loaded.get()) {
+                count += item.getQuantity();
+                total += item.getPrice() * item.getQuantity();
+            }
+            return summary(count, loaded.get().size(), total);
+        }
+        return jdbcTemplate.queryForObject(SUMMARY_SQL, (rs, i) ->
+            summary(rs.getLong("item_count"), rs.getLong("line_count"), rs.getDouble("total")), userId);
+    }
+
+    private static Map<String, Object> summary(long count, long items, double total) {
+        return Map.of("count", count, "items", items, "total", total);
+    }
+}
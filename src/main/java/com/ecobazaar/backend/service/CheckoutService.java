@@ -0,0 +1,299 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.CartItem;
+import com.ecobazaar.backend.entity.Order;
+import com.ecobazaar.backend.entity.OrderStatus;
+import com.ecobazaar.backend.entity.PaymentStatus;
+import com.ecobazaar.backend.entity.PaymentTransaction;
+import com.ecobazaar.backend.entity.Product;
+import com.ecobazaar.backend.entity.User;
+import com.ecobazaar.backend.entity.UserOrder;
+import com.ecobazaar.backend.repository.CartItemRepository;
+import com.ecobazaar.backend.repository.OrderRepository;
+import com.ecobazaar.backend.repository.PaymentTransactionRepository;
+import com.ecobazaar.backend.repository.ProductRepository;
+import com.ecobazaar.backend.repository.UserOrderRepository;
+import com.ecobazaar.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Checkout Service
+ *
+ * Turns a user's cart into an order in one transaction: cart lines are priced
+ * against the live products, stock is taken through the inventory service,
+ * and the Order, its UserOrder lines and a pending PaymentTransaction are
+ * written in batched inserts before the cart is cleared with a single DELETE.
+ * The user's cart stays locked in CartStoreService until the transaction
+ * commits, so a line added during checkout is neither ordered nor lost.
+ *
+ * Stock is decremented on the checkout transaction's own connection, so a
+ * checkout uses one pooled connection and a failure rolls the stock back with
+ * the order.
+ */
+@Service
+public class CheckoutService {
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private CartStoreService cartStoreService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserOrderRepository userOrderRepository;
+
+    @Autowired
+    private PaymentTransactionRepository paymentTransactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private StoreCounterService storeCounterService;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private OrderLifecycleService orderLifecycleService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Semaphore permits;
+
+    // How long a checkout waits for a free slot before it is turned away
+    @Value("${checkout.permit-wait-ms:10000}")
+    private long permitWaitMs;
+
+    public CheckoutService(PlatformTransactionManager transactionManager,
+                           @Value("${checkout.max-concurrent:8}") int maxConcurrent) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Place an order for everything in the user's cart
+     *
+     * @param request userId plus optional userEmail, userName, userPhone, shippingAddress,
+     *                billingAddress, deliveryNotes and paymentMethod
+     * @return Map with order, items and payment
+     * @throws IllegalArgumentException if the request or cart is invalid
+     * @throws IllegalStateException if a product is unavailable or out of stock
+     */
+    public Map<String, Object> checkout(Map<String, Object> request) {
+        String userId = stringValue(request.get("userId"));
+        if (userId == null || userId.isBlank()) {
+            throw new IllegalArgumentException("userId is required");
+        }
+
+        acquirePermit();
+        try {
+            // The cart store holds the latest lines (cart_items may lag behind) and keeps the cart locked until commit
+            return cartStoreService.checkout(userId,
+                cartItems -> transactionTemplate.execute(status -> placeOrder(userId, request, cartItems)));
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Wait for one of the checkout slots
+     *
+     * A checkout holds one pooled connection for its whole transaction.
+     * Keeping concurrent checkouts below the pool size leaves connections for
+     * the rest of the application during a checkout burst, and turns excess
+     * checkouts away after a bounded wait instead of queueing them on the pool.
+     */
+    private void acquirePermit() {
+        try {
+            if (!permits.tryAcquire(permitWaitMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Too many checkouts in progress, please try again");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to check out");
+        }
+    }
+
+    private Map<String, Object> placeOrder(String userId, Map<String, Object> request, List<CartItem> cartItems) {
+        if (cartItems.isEmpty()) {
+            throw new IllegalArgumentException("Cart is empty");
+        }
+
+        // Merge duplicate lines of a product; ordered by product id for a stable lock order
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (CartItem item : cartItems) {
+            Long productId = parseId(item.getProductId());
+            if (productId == null || item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Invalid cart item: " + item.getProductId());
+            }
+            quantities.merge(productId, item.getQuantity(), Integer::sum);
+        }
+
+        Map<Long, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        for (Long productId : quantities.keySet()) {
+            Product product = products.get(productId);
+            if (product == null || Boolean.FALSE.equals(product.getIsActive())
+                    || product.getPrice() == null || product.getPrice() <= 0) {
+                throw new IllegalStateException("Product is no longer available: " + productId);
+            }
+        }
+
+        Order order = newOrder(userId, request);
+        String orderId = order.getOrderId();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<UserOrder> lines = new ArrayList<>();
+        double total = 0;
+        double carbon = 0;
+        int ecoPoints = 0;
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            int quantity = entry.getValue();
+            double lineTotal = round(product.getPrice() * quantity);
+            UserOrder line = new UserOrder();
+            line.setUserOrderId(orderId + "-" + (lines.size() + 1));
+            line.setUserId(userId);
+            line.setOrderId(orderId);
+            line.setProductId(String.valueOf(product.getId()));
+            line.setProductName(product.getName());
+            line.setProductPrice(product.getPrice());
+            line.setQuantity(quantity);
+            line.setTotalAmount(lineTotal);
+            line.setStoreId(product.getStoreId());
+            line.setStoreName(product.getStoreName());
+            line.setOrderStatus(OrderStatus.PENDING.name());
+            line.setCreatedAt(now);
+            lines.add(line);
+
+            total += lineTotal;
+            carbon += product.getCarbonFootprint() != null ? product.getCarbonFootprint() * quantity : 0;
+            ecoPoints += product.getEcoPoints() != null ? product.getEcoPoints() * quantity : 0;
+        }
+
+        total = round(total);
+        order.setTotalAmount(total);
+        order.setTaxAmount(0.0);
+        order.setShippingAmount(0.0);
+        order.setDiscountAmount(0.0);
+        order.setFinalAmount(total);
+        order.setCarbonFootprint(round(carbon));
+        order.setEcoPointsEarned(ecoPoints);
+
+        PaymentTransaction payment = new PaymentTransaction();
+        payment.setTransactionId("TXN-" + UUID.randomUUID());
+        payment.setOrderId(orderId);
+        payment.setUserId(userId);
+        payment.setAmount(total);
+        payment.setCurrency(order.getCurrency());
+        payment.setPaymentMethod(order.getPaymentMethod());
+        payment.setStatus(PaymentStatus.PENDING.name());
+        order.setPaymentId(payment.getTransactionId());
+
+        Order savedOrder = orderRepository.save(order);
+        List<UserOrder> savedLines = userOrderRepository.saveAll(lines);
+        PaymentTransaction savedPayment = paymentTransactionRepository.save(payment);
+        List<Long> cartIds = cartItems.stream().map(CartItem::getId).collect(Collectors.toList());
+        // Lines the store has not written yet simply match nothing
+        cartItemRepository.deleteAllByIdInBatch(cartIds);
+        orderLifecycleService.orderCreated(savedOrder);
+        salesRollupService.onUserOrdersCreated(savedLines);
+        // Last, after every id has been allocated: one batch of conditional decrements on this
+        // transaction's connection, so the product rows stay locked only until the commit right after
+        inventoryService.takeStock(quantities);
+
+        Set<String> storeIds = new LinkedHashSet<>();
+        savedLines.forEach(line -> storeIds.add(line.getStoreId()));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                storeIds.forEach(storeCounterService::orderPlaced);
+            }
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("order", savedOrder);
+        result.put("items", savedLines);
+        result.put("payment", savedPayment);
+        return result;
+    }
+
+    private Order newOrder(String userId, Map<String, Object> request) {
+        String userEmail = stringValue(request.get("userEmail"));
+        String userName = stringValue(request.get("userName"));
+        String userPhone = stringValue(request.get("userPhone"));
+        if (userEmail == null || userName == null) {
+            Long numericId = parseId(userId);
+            Optional<User> user = numericId != null ? userRepository.findById(numericId) : Optional.empty();
+            if (user.isPresent()) {
+                userEmail = userEmail != null ? userEmail : user.get().getEmail();
+                userName = userName != null ? userName : user.get().getName();
+                userPhone = userPhone != null ? userPhone : user.get().getPhone();
+            }
+        }
+        if (userEmail == null || userName == null) {
+            throw new IllegalArgumentException("userEmail and userName are required");
+        }
+
+        Order order = new Order();
+        order.setOrderId("ORD-" + UUID.randomUUID());
+        order.setUserId(userId);
+        order.setUserEmail(userEmail);
+        order.setUserName(userName);
+        order.setUserPhone(userPhone);
+        order.setShippingAddress(stringValue(request.get("shippingAddress")));
+        order.setBillingAddress(stringValue(request.get("billingAddress")));
+        order.setDeliveryNotes(stringValue(request.get("deliveryNotes")));
+        order.setPaymentMethod(stringValue(request.get("paymentMethod")));
+        order.setOrderStatus(OrderStatus.PENDING);
+        order.setPaymentStatus(PaymentStatus.PENDING);
+        return order;
+    }
+
+    private static String stringValue(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return value != null ? Long.valueOf(value.trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static double round(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
+}
@@ -3,6 +3,7 @@ package com.ecobazaar.backend.service;
 import com.ecobazaar.backend.entity.*;
 import com.ecobazaar.backend.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -38,15 +39,38 @@ public class DataInitializationService {
     
     @Autowired
     private EcoChallengeRepository ecoChallengeRepository;
+    
+    @Autowired
+    private ProductSearchService productSearchService;
+    
+    @Autowired
+    private ProductFacetService productFacetService;
+    
+    @Autowired
+    private LowStockService lowStockService;
+    
+    @Autowired
+    private NearbyStoreService nearbyStoreService;
+    
+    @Autowired
+    private StoreCounterService storeCounterService;
+    
+    @Autowired
+    private ResourceVersionService resourceVersionService;
 
     /**
      * Initialize database with sample data if it's empty
      */
+    @CacheEvict(value = {"products", "stores", "ecoChallenges"}, allEntries = true)
     public String initializeSampleData() {
         try {
             StringBuilder result = new StringBuilder();
             result.append("Initializing sample data...\n\n");
             
+            resourceVersionService.bump(ResourceVersionService.STORES);
+            resourceVersionService.bump(ResourceVersionService.PRODUCTS);
+            resourceVersionService.bump(ResourceVersionService.ECO_CHALLENGES);
+            
             // Initialize stores first
             result.append(initializeStores());
             
@@ -62,6 +86,8 @@ public class DataInitializationService {
             // Initialize eco challenges
             result.append(initializeEcoChallenges());
             
+            storeCounterService.reconcileAfterCommit();
+            
             result.append("\nSample data initialization completed successfully!\n");
             result.append(getInitializationStats());
             
@@ -99,7 +125,7 @@ public class DataInitializationService {
                           "654 Green Boulevard, Eco District, ED 24680")
             );
             
-            storeRepository.saveAll(stores);
+            nearbyStoreService.indexStores(storeRepository.saveAll(stores));
             return String.format("Initialized %d stores\n", stores.size());
             
         } catch (Exception e) {
@@ -164,7 +190,10 @@ public class DataInitializationService {
                             11.99, 150, "Home & Living", "store-005", "Sustainable Shop")
             );
             
-            productRepository.saveAll(products);
+            List<Product> savedProducts = productRepository.saveAll(products);
+            productSearchService.indexProducts(savedProducts);
+            productFacetService.indexProducts(savedProducts);
+            lowStockService.trackProducts(savedProducts);
             return String.format("Initialized %d products\n", products.size());
             
         } catch (Exception e) {
@@ -385,6 +414,7 @@ public class DataInitializationService {
     /**
      * Force reinitialize eco challenges (clears existing data and recreates)
      */
+    @CacheEvict(value = "ecoChallenges", allEntries = true)
     public String forceReinitializeEcoChallenges() {
         try {
             // Clear existing eco challenges
@@ -392,6 +422,7 @@ public class DataInitializationService {
             
             // Reinitialize eco challenges
             String result = initializeEcoChallenges();
+            resourceVersionService.bump(ResourceVersionService.ECO_CHALLENGES);
             
             return "Eco challenges force reinitialized successfully!\n" + result;
         } catch (Exception e) {
@@ -4,7 +4,10 @@ import com.ecobazaar.backend.entity.*;
 import com.ecobazaar.backend.repository.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -52,6 +55,30 @@ public class DataMigrationService {
     
     @Autowired
     private UserSettingsRepository userSettingsRepository;
+    
+    @Autowired
+    private ProductSearchService productSearchService;
+    
+    @Autowired
+    private ProductFacetService productFacetService;
+    
+    @Autowired
+    private LowStockService lowStockService;
+    
+    @Autowired
+    private NearbyStoreService nearbyStoreService;
+    
+    @Autowired
+    private StoreCounterService storeCounterService;
+    
+    @Autowired
+    private SalesRollupService salesRollupService;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private ResourceVersionService resourceVersionService;
 
     /**
      * Migrate user data from Firestore to MySQL
@@ -90,7 +117,11 @@ public class DataMigrationService {
         product.setStoreName(storeName);
         product.setIsActive(true);
         
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        productSearchService.indexProduct(savedProduct);
+        productFacetService.indexProduct(savedProduct);
+        lowStockService.trackProduct(savedProduct);
+        return savedProduct;
     }
 
     /**
@@ -151,7 +182,9 @@ public class DataMigrationService {
         store.setIsActive(true);
         store.setIsVerified(false);
         
-        return storeRepository.save(store);
+        Store savedStore = storeRepository.save(store);
+        nearbyStoreService.indexStore(savedStore);
+        return savedStore;
     }
 
     /**
@@ -207,6 +240,7 @@ public class DataMigrationService {
     /**
      * Migrate all data from exported Firestore JSON files
      */
+    @CacheEvict(value = {"products", "stores"}, allEntries = true)
     public String migrateAllData() {
         try {
             ObjectMapper objectMapper = new ObjectMapper();
@@ -222,6 +256,12 @@ public class DataMigrationService {
             StringBuilder result = new StringBuilder();
             result.append("Starting data migration from Firestore exports...\n\n");
             
+            resourceVersionService.bump(ResourceVersionService.PRODUCTS);
+            resourceVersionService.bump(ResourceVersionService.STORES);
+            
+            long rowsBefore = countAllRows();
+            long start = System.currentTimeMillis();
+            
             // Migrate users
             result.append(migrateUsersFromFile(objectMapper, exportsDir));
             
@@ -250,6 +290,16 @@ public class DataMigrationService {
             // Migrate user settings
             result.append(migrateUserSettingsFromFile(objectMapper, exportsDir));
             
+            // Flush pending batched inserts so the timing covers the database writes
+            entityManager.flush();
+            long elapsedMs = Math.max(System.currentTimeMillis() - start, 1);
+            long rowsWritten = countAllRows() - rowsBefore;
+            result.append(String.format("\nWrote %d rows in %d ms (%.1f rows/s)\n",
+                rowsWritten, elapsedMs, rowsWritten * 1000.0 / elapsedMs));
+            
+            storeCounterService.reconcileAfterCommit();
+            salesRollupService.backfillAfterCommit();
+            
             result.append("\nMigration completed successfully!\n");
             result.append(getMigrationStats());
             
@@ -566,6 +616,13 @@ public class DataMigrationService {
         }
     }
 
+    private long countAllRows() {
+        return userRepository.count() + productRepository.count() + storeRepository.count()
+            + wishlistRepository.count() + wishlistItemRepository.count() + cartRepository.count()
+            + paymentTransactionRepository.count() + userOrderRepository.count()
+            + userSettingsRepository.count();
+    }
+
     /**
      * Get migration statistics
      */
@@ -6,6 +6,9 @@ import com.ecobazaar.backend.entity.UserChallenge;
 import com.ecobazaar.backend.repository.EcoChallengeRepository;
 import com.ecobazaar.backend.repository.UserChallengeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,11 +26,16 @@ public class EcoChallengeService {
     @Autowired
     private UserChallengeRepository userChallengeRepository;
     
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+    
     // EcoChallenge CRUD operations
+    @Cacheable(value = "ecoChallenges", key = "'all'")
     public List<EcoChallenge> getAllChallenges() {
         return ecoChallengeRepository.findAll();
     }
     
+    @Cacheable(value = "ecoChallenges", key = "'active'")
     public List<EcoChallenge> getActiveChallenges() {
         return ecoChallengeRepository.findByIsActiveTrue();
     }
@@ -36,14 +44,17 @@ public class EcoChallengeService {
         return ecoChallengeRepository.findCurrentlyActiveChallenges(LocalDateTime.now());
     }
     
+    @Cacheable(value = "ecoChallenges", key = "'id:' + #id")
     public Optional<EcoChallenge> getChallengeById(Long id) {
         return ecoChallengeRepository.findById(id);
     }
     
+    @Cacheable(value = "ecoChallenges", key = "'category:' + #category")
     public List<EcoChallenge> getChallengesByCategory(String category) {
         return ecoChallengeRepository.findByCategoryAndIsActiveTrue(category);
     }
     
+    @Cacheable(value = "ecoChallenges", key = "'difficulty:' + #difficultyLevel")
     public List<EcoChallenge> getChallengesByDifficulty(String difficultyLevel) {
         return ecoChallengeRepository.findByDifficultyLevelAndIsActiveTrue(difficultyLevel);
     }
@@ -56,6 +67,7 @@ public class EcoChallengeService {
         return ecoChallengeRepository.findByDurationRange(minDuration, maxDuration);
     }
     
+    @Cacheable(value = "ecoChallenges", key = "'available'")
     public List<EcoChallenge> getChallengesWithAvailableSpots() {
         return ecoChallengeRepository.findChallengesWithAvailableSpots();
     }
@@ -69,12 +81,15 @@ public class EcoChallengeService {
         return ecoChallengeRepository.findChallengesByCriteria(category, difficultyLevel, minPoints, maxPoints);
     }
     
+    @CacheEvict(value = "ecoChallenges", allEntries = true)
     public EcoChallenge createChallenge(EcoChallenge challenge) {
         challenge.setCreatedAt(LocalDateTime.now());
         challenge.setUpdatedAt(LocalDateTime.now());
+        resourceVersionService.bump(ResourceVersionService.ECO_CHALLENGES);
         return ecoChallengeRepository.save(challenge);
     }
     
+    @CacheEvict(value = "ecoChallenges", allEntries = true)
     public EcoChallenge updateChallenge(Long id, EcoChallenge challengeDetails) {
         Optional<EcoChallenge> challengeOpt = ecoChallengeRepository.findById(id);
         if (challengeOpt.isPresent()) {
@@ -95,20 +110,24 @@ public class EcoChallengeService {
             challenge.setRequirements(challengeDetails.getRequirements());
             challenge.setRewards(challengeDetails.getRewards());
             challenge.setUpdatedAt(LocalDateTime.now());
+            resourceVersionService.bump(ResourceVersionService.ECO_CHALLENGES);
             return ecoChallengeRepository.save(challenge);
         }
         return null;
     }
     
+    @CacheEvict(value = "ecoChallenges", allEntries = true)
     public boolean deleteChallenge(Long id) {
         Optional<EcoChallenge> challengeOpt = ecoChallengeRepository.findById(id);
         if (challengeOpt.isPresent()) {
             ecoChallengeRepository.deleteById(id);
+            resourceVersionService.bump(ResourceVersionService.ECO_CHALLENGES);
             return true;
         }
         return false;
     }
     
+    @CacheEvict(value = "ecoChallenges", allEntries = true)
     public boolean deactivateChallenge(Long id) {
         Optional<EcoChallenge> challengeOpt = ecoChallengeRepository.findById(id);
         if (challengeOpt.isPresent()) {
@@ -116,12 +135,14 @@ public class EcoChallengeService {
             challenge.setIsActive(false);
             challenge.setUpdatedAt(LocalDateTime.now());
             ecoChallengeRepository.save(challenge);
+            resourceVersionService.bump(ResourceVersionService.ECO_CHALLENGES);
             return true;
         }
         return false;
     }
     
     // UserChallenge operations
+    @Cacheable(value = "userChallenges", key = "#userId")
     public List<UserChallenge> getUserChallenges(Long userId) {
         return userChallengeRepository.findByUserId(userId);
     }
@@ -142,6 +163,11 @@ public class EcoChallengeService {
         return userChallengeRepository.findByUserIdAndChallengeId(userId, challengeId);
     }
     
+    @Caching(evict = {
+        @CacheEvict(value = "ecoChallenges", allEntries = true),
+        @CacheEvict(value = "userChallenges", key = "#userId"),
+        @CacheEvict(value = "userChallenges", key = "'points:' + #userId")
+    })
     public UserChallenge joinChallenge(Long userId, Long challengeId) {
         // Check if user is already participating
         Optional<UserChallenge> existingChallenge = userChallengeRepository.findByUserIdAndChallengeId(userId, challengeId);
@@ -172,10 +198,15 @@ public class EcoChallengeService {
         // Update challenge participant count
         challenge.setCurrentParticipants(challenge.getCurrentParticipants() + 1);
         ecoChallengeRepository.save(challenge);
+        resourceVersionService.bump(ResourceVersionService.ECO_CHALLENGES);
         
         return userChallengeRepository.save(userChallenge);
     }
     
+    @Caching(evict = {
+        @CacheEvict(value = "userChallenges", key = "#userId"),
+        @CacheEvict(value = "userChallenges", key = "'points:' + #userId")
+    })
     public UserChallenge updateChallengeProgress(Long userId, Long challengeId, Integer progressPercentage, String notes) {
         Optional<UserChallenge> userChallengeOpt = userChallengeRepository.findByUserIdAndChallengeId(userId, challengeId);
         if (!userChallengeOpt.isPresent()) {
@@ -190,6 +221,10 @@ public class EcoChallengeService {
         return userChallengeRepository.save(userChallenge);
     }
     
+    @Caching(evict = {
+        @CacheEvict(value = "userChallenges", key = "#userId"),
+        @CacheEvict(value = "userChallenges", key = "'points:' + #userId")
+    })
     public UserChallenge completeChallenge(Long userId, Long challengeId, String proofUrl) {
         Optional<UserChallenge> userChallengeOpt = userChallengeRepository.findByUserIdAndChallengeId(userId, challengeId);
         if (!userChallengeOpt.isPresent()) {
@@ -212,6 +247,11 @@ public class EcoChallengeService {
         return userChallengeRepository.save(userChallenge);
     }
     
+    @Caching(evict = {
+        @CacheEvict(value = "ecoChallenges", allEntries = true),
+        @CacheEvict(value = "userChallenges", key = "#userId"),
+        @CacheEvict(value = "userChallenges", key = "'points:' + #userId")
+    })
     public UserChallenge cancelChallenge(Long userId, Long challengeId) {
         Optional<UserChallenge> userChallengeOpt = userChallengeRepository.findByUserIdAndChallengeId(userId, challengeId);
         if (!userChallengeOpt.isPresent()) {
@@ -228,11 +268,13 @@ public class EcoChallengeService {
             EcoChallenge challenge = challengeOpt.get();
             challenge.setCurrentParticipants(Math.max(0, challenge.getCurrentParticipants() - 1));
             ecoChallengeRepository.save(challenge);
+            resourceVersionService.bump(ResourceVersionService.ECO_CHALLENGES);
         }
         
         return userChallengeRepository.save(userChallenge);
     }
     
+    @Cacheable(value = "userChallenges", key = "'points:' + #userId")
     public Integer getTotalPointsEarned(Long userId) {
         return userChallengeRepository.getTotalPointsEarnedByUserId(userId);
     }
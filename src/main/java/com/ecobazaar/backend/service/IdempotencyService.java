@@ -0,0 +1,208 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.IdempotencyRecord;
+import com.ecobazaar.backend.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Idempotency Service
+ *
+ * Stores the responses of requests sent with an Idempotency-Key so a retried
+ * request gets the original response instead of running twice. Recent keys
+ * live in a bounded in-memory cache; every stored response is also written to
+ * the idempotency_keys table in batches on a short interval, so retries that
+ * arrive after a restart or eviction are still answered. Keys expire after
+ * the configured TTL and a scheduled job purges expired rows.
+ *
+ * Each stored response keeps a hash of the request that produced it, so a
+ * key reused for a different request can be told apart from a retry.
+ *
+ * A key whose first request is still running is held in an in-flight set, so
+ * a concurrent retry is rejected instead of executing in parallel.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 200;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO idempotency_keys (key_hash, request_hash, status_code, response_body, created_at, expires_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE key_hash = key_hash";
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${idempotency.max-cached-keys:10000}")
+    private long maxCachedKeys;
+
+    private Cache<String, IdempotencyRecord> recent;
+
+    // Keys whose first request has not completed yet
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    // Stored responses not yet written to the database
+    private final Queue<IdempotencyRecord> pending = new ConcurrentLinkedQueue<>();
+
+    @PostConstruct
+    public void initialize() {
+        recent = Caffeine.newBuilder()
+            .maximumSize(maxCachedKeys)
+            .expireAfterWrite(Duration.ofHours(ttlHours))
+            .build();
+    }
+
+    /**
+     * Hash of everything that scopes a key: method, path, caller and the key itself
+     */
+    public String keyHash(String method, String path, String caller, String key) {
+        String scoped = method + "\n" + path + "\n" + (caller != null ? caller : "") + "\n" + key;
+        MessageDigest digest = sha256();
+        return HexFormat.of().formatHex(digest.digest(scoped.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Hash of what a request asks for: its parameters (in name order) and body
+     */
+    public String requestHash(Map<String, String[]> parameters, byte[] body) {
+        MessageDigest digest = sha256();
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(parameters).entrySet()) {
+            digest.update((parameter.getKey() + "=" + String.join(",", parameter.getValue()) + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(body);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Stored response for a key, from memory first and then the database
+     */
+    public Optional<IdempotencyRecord> find(String keyHash) {
+        IdempotencyRecord record = recent.getIfPresent(keyHash);
+        if (record == null) {
+            record = idempotencyRecordRepository.findById(keyHash)
+                .filter(stored -> stored.getExpiresAt().isAfter(LocalDateTime.now()))
+                .orElse(null);
+            if (record != null) {
+                recent.put(keyHash, record);
+            }
+        }
+        return Optional.ofNullable(record);
+    }
+
+    /**
+     * Claim a key for a first execution
+     *
+     * @return false if another request with the key is still running
+     */
+    public boolean begin(String keyHash) {
+        return inFlight.add(keyHash);
+    }
+
+    /**
+     * Store the response of a completed first execution
+     */
+    public void complete(String keyHash, String requestHash, int statusCode, String responseBody) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord record = new IdempotencyRecord(keyHash, requestHash, statusCode, responseBody,
+            now, now.plusHours(ttlHours));
+        recent.put(keyHash, record);
+        pending.add(record);
+        inFlight.remove(keyHash);
+    }
+
+    /**
+     * Give up a claim without storing a response (server errors, exceptions)
+     */
+    public void release(String keyHash) {
+        inFlight.remove(keyHash);
+    }
+
+    /**
+     * Write stored responses to the database in one batch
+     */
+    @Scheduled(fixedDelayString = "${idempotency.flush-interval-ms:1000}")
+    public void flush() {
+        List<IdempotencyRecord> batch = new ArrayList<>();
+        IdempotencyRecord record;
+        while ((record = pending.poll()) != null) {
+            batch.add(record);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            for (IdempotencyRecord stored : batch) {
+                rows.add(new Object[] {
+                    stored.getKeyHash(), stored.getRequestHash(), stored.getStatusCode(), stored.getResponseBody(),
+                    Timestamp.valueOf(stored.getCreatedAt()), Timestamp.valueOf(stored.getExpiresAt())
+                });
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        } catch (Exception e) {
+            // Keep the records for the next run; they are still served from memory
+            pending.addAll(batch);
+            System.err.println("Error writing idempotency keys: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Delete expired keys
+     */
+    @Scheduled(cron = "${idempotency.purge-cron:0 0 * * * *}")
+    public void purgeExpired() {
+        try {
+            int deleted = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < ?",
+                Timestamp.valueOf(LocalDateTime.now()));
+            if (deleted > 0) {
+                System.out.println("Purged " + deleted + " expired idempotency keys");
+            }
+        } catch (Exception e) {
+            System.err.println("Error purging idempotency keys: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
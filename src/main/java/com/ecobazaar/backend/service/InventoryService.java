@@ -0,0 +1,655 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.Product;
+import com.ecobazaar.backend.entity.StockReservation;
+import com.ecobazaar.backend.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Inventory Service
+ *
+ * Reserves stock without overselling. Every decrement of products.quantity is
+ * a conditional UPDATE (quantity >= requested), so two checkouts can never
+ * take the same unit. A reservation holds stock until it is confirmed,
+ * released, or expires after its TTL. Reservations are rows in
+ * stock_reservations, so a restart neither loses the stock they hold nor
+ * forgets to give it back.
+ *
+ * Products that receive many reservations in a short window ("hot SKUs") lease
+ * a block of units from the products row and serve reservations from it, so
+ * the row is updated once per block instead of once per reservation. A lease
+ * is recorded in stock_leases and every reservation records the leased units
+ * it used, so the units a lease still holds can be recomputed: leases are
+ * returned to the row when the product cools down, at shutdown, and at
+ * startup after a crash. While a lease is held, products.quantity is lower
+ * than the sellable stock by the leased amount; getAvailable() reports the sum.
+ * Writers that set an absolute quantity go through overwriteStock(), which
+ * returns the product's lease first.
+ *
+ * Reservations are written in their own transaction; one made inside a
+ * caller's transaction is released automatically if that transaction rolls
+ * back. takeStock() sells directly in the caller's transaction instead.
+ * Assumes one application instance owns the leases.
+ */
+@Service
+public class InventoryService {
+
+    // Per-product operations are serialized on one of these locks
+    private static final int LOCK_STRIPES = 256;
+
+    // Expired reservations released per maintenance query
+    private static final int EXPIRY_BATCH_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private LowStockService lowStockService;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductFacetService productFacetService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${inventory.reservation-ttl-seconds:600}")
+    private long reservationTtlSeconds;
+
+    // Reservations per product per maintenance interval that make it a hot SKU
+    @Value("${inventory.hot-sku-threshold:20}")
+    private int hotSkuThreshold;
+
+    // Extra units leased per database round trip for a hot SKU
+    @Value("${inventory.lease-block-size:20}")
+    private int leaseBlockSize;
+
+    private final TransactionTemplate stockTransaction;
+
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    // productId -> open lease; only read or changed under the product's stripe lock
+    private final Map<Long, Lease> leases = new ConcurrentHashMap<>();
+
+    // productId -> reservations in the current maintenance interval
+    private final Map<Long, AtomicInteger> demand = new ConcurrentHashMap<>();
+
+    // EntityManagerFactory is injected so that Hibernate has created the ledger tables first
+    public InventoryService(PlatformTransactionManager transactionManager, EntityManagerFactory entityManagerFactory) {
+        this.stockTransaction = new TransactionTemplate(transactionManager);
+        this.stockTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Give back the units of leases left open by a crash; pending reservations
+     * keep their stock and expire as usual
+     */
+    @PostConstruct
+    public void reclaimLeases() {
+        try {
+            List<Long> productIds = jdbcTemplate.queryForList("SELECT product_id FROM stock_leases", Long.class);
+            if (productIds.isEmpty()) {
+                return;
+            }
+            Integer returned = stockTransaction.execute(status -> {
+                int units = 0;
+                for (Map<String, Object> lease : jdbcTemplate.queryForList(
+                        "SELECT l.product_id, l.lease_id, l.units - COALESCE(SUM(r.leased_units), 0) AS remaining " +
+                        "FROM stock_leases l LEFT JOIN stock_reservations r ON r.lease_id = l.lease_id " +
+                        "GROUP BY l.product_id, l.lease_id, l.units")) {
+                    int remaining = ((Number) lease.get("remaining")).intValue();
+                    closeLease(((Number) lease.get("product_id")).longValue(), (String) lease.get("lease_id"), remaining);
+                    units += remaining;
+                }
+                return units;
+            });
+            System.out.println("Returned " + returned + " leased units of " + productIds.size() + " products");
+            stockChanged(productIds, true);
+        } catch (Exception e) {
+            System.err.println("Error reclaiming stock leases: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reserve stock for a product
+     *
+     * @return the reservation, or null if there is not enough stock
+     */
+    public Reservation reserve(Long productId, int quantity) {
+        if (productId == null || quantity <= 0) {
+            throw new IllegalArgumentException("productId and a positive quantity are required");
+        }
+        int recentDemand = demand.computeIfAbsent(productId, id -> new AtomicInteger()).incrementAndGet();
+        LocalDateTime now = LocalDateTime.now();
+        Reservation reservation = new Reservation(UUID.randomUUID().toString(), productId, quantity,
+            now.plusSeconds(reservationTtlSeconds));
+
+        boolean rowChanged;
+        ReentrantLock lock = lockFor(productId);
+        lock.lock();
+        try {
+            Lease lease = leases.get(productId);
+            int fromLease = lease != null ? Math.min(lease.remaining, quantity) : 0;
+            int missing = quantity - fromLease;
+            int extra = missing > 0 && recentDemand >= hotSkuThreshold ? leaseBlockSize : 0;
+            String leaseId = lease != null ? lease.id : UUID.randomUUID().toString();
+
+            // Units added to the lease, or null if there is not enough stock
+            Integer leased = stockTransaction.execute(status -> {
+                int block = extra;
+                if (missing > 0 && !takeFromRow(productId, missing + block)) {
+                    block = 0;
+                    if (extra == 0 || !takeFromRow(productId, missing)) {
+                        return null;
+                    }
+                }
+                if (block > 0) {
+                    jdbcTemplate.update(
+                        "INSERT INTO stock_leases (product_id, lease_id, units, updated_at) VALUES (?, ?, ?, ?) " +
+                        "ON DUPLICATE KEY UPDATE units = units + VALUES(units), updated_at = VALUES(updated_at)",
+                        productId, leaseId, block, Timestamp.valueOf(now));
+                }
+                jdbcTemplate.update(
+                    "INSERT INTO stock_reservations (reservation_id, product_id, quantity, lease_id, leased_units, " +
+                    "status, created_at, expires_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    reservation.getId(), productId, quantity, fromLease > 0 ? leaseId : null, fromLease,
+                    StockReservation.PENDING, Timestamp.valueOf(now), Timestamp.valueOf(reservation.getExpiresAt()));
+                return block;
+            });
+            if (leased == null) {
+                return null;
+            }
+            if (leased > 0 || fromLease > 0) {
+                leases.computeIfAbsent(productId, id -> new Lease(leaseId)).remaining += leased - fromLease;
+            }
+            rowChanged = missing > 0;
+        } finally {
+            lock.unlock();
+        }
+
+        lowStockService.adjustQuantity(productId, -quantity);
+        stockChanged(List.of(productId), rowChanged);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(reservation.getId());
+                    }
+                }
+            });
+        }
+        return reservation;
+    }
+
+    /**
+     * Turn a reservation into a sale; the stock stays taken
+     *
+     * @return false if the reservation does not exist or has expired
+     */
+    public boolean confirm(String reservationId) {
+        StockReservation reservation = findPending(reservationId);
+        if (reservation == null || reservation.getExpiresAt().isBefore(LocalDateTime.now())) {
+            return false;
+        }
+        ReentrantLock lock = lockFor(reservation.getProductId());
+        lock.lock();
+        try {
+            // Rows that used a lease stay until the lease is returned, so its remaining units can be recomputed
+            Integer updated = stockTransaction.execute(status -> jdbcTemplate.update(
+                "UPDATE stock_reservations SET status = ? WHERE reservation_id = ? AND status = ? AND lease_id IS NOT NULL",
+                StockReservation.CONFIRMED, reservationId, StockReservation.PENDING) + jdbcTemplate.update(
+                "DELETE FROM stock_reservations WHERE reservation_id = ? AND status = ? AND lease_id IS NULL",
+                reservationId, StockReservation.PENDING));
+            return updated != null && updated > 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Give reserved stock back
+     *
+     * @return false if the reservation does not exist or has expired
+     */
+    public boolean release(String reservationId) {
+        StockReservation reservation = findPending(reservationId);
+        if (reservation == null) {
+            return false;
+        }
+        Long productId = reservation.getProductId();
+        int rowUnits;
+        ReentrantLock lock = lockFor(productId);
+        lock.lock();
+        try {
+            // The lease may have been returned since the reservation was read
+            Lease lease = leases.get(productId);
+            Map<String, Object> current = jdbcTemplate.queryForList(
+                "SELECT lease_id, leased_units FROM stock_reservations WHERE reservation_id = ? AND status = ?",
+                reservationId, StockReservation.PENDING).stream().findFirst().orElse(null);
+            if (current == null) {
+                return false;
+            }
+            int leasedUnits = current.get("lease_id") != null ? ((Number) current.get("leased_units")).intValue() : 0;
+            rowUnits = reservation.getQuantity() - leasedUnits;
+            Boolean released = stockTransaction.execute(status -> {
+                if (jdbcTemplate.update("DELETE FROM stock_reservations WHERE reservation_id = ? AND status = ?",
+                        reservationId, StockReservation.PENDING) == 0) {
+                    return false;
+                }
+                if (rowUnits > 0) {
+                    jdbcTemplate.update("UPDATE products SET quantity = quantity + ? WHERE id = ?", rowUnits, productId);
+                }
+                return true;
+            });
+            if (!Boolean.TRUE.equals(released)) {
+                return false;
+            }
+            if (leasedUnits > 0 && lease != null) {
+                // Hot SKU: keep the units in memory for the next reservation
+                lease.remaining += leasedUnits;
+            }
+        } finally {
+            lock.unlock();
+        }
+        lowStockService.adjustQuantity(productId, reservation.getQuantity());
+        stockChanged(List.of(productId), rowUnits > 0);
+        return true;
+    }
+
+    /**
+     * Take stock for a sale in the caller's transaction, on its connection
+     *
+     * Units are served from open leases first (the lease row is reduced by
+     * the same amount); the rest comes from the products rows in one batch of
+     * conditional decrements, in product id order. Everything rolls back with
+     * the caller's transaction. Call it last in the transaction, so the
+     * product rows stay locked as briefly as possible.
+     *
+     * @param quantities productId -> units
+     * @throws IllegalStateException if a product has too little stock or no transaction is active
+     */
+    public void takeStock(Map<Long, Integer> quantities) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("takeStock must run inside a transaction");
+        }
+        Map<Long, Integer> sorted = new TreeMap<>(quantities);
+        // productId -> lease the units came from and how many, given back if the transaction rolls back
+        Map<Long, Lease> usedLeases = new LinkedHashMap<>();
+        Map<Long, Integer> fromLeases = new LinkedHashMap<>();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    fromLeases.forEach((productId, units) -> restoreLeased(productId, usedLeases.get(productId), units));
+                }
+            }
+
+            @Override
+            public void afterCommit() {
+                sorted.forEach((productId, units) -> lowStockService.adjustQuantity(productId, -units));
+                List<Long> rowChanged = new ArrayList<>();
+                sorted.forEach((productId, units) -> {
+                    if (units > fromLeases.getOrDefault(productId, 0)) {
+                        rowChanged.add(productId);
+                    }
+                });
+                stockChanged(rowChanged, true);
+            }
+        });
+
+        List<Object[]> leaseDecrements = new ArrayList<>();
+        List<Object[]> decrements = new ArrayList<>();
+        List<Long> decremented = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : sorted.entrySet()) {
+            Long productId = entry.getKey();
+            int units = entry.getValue();
+            if (units <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive for product " + productId);
+            }
+            int fromLease = 0;
+            ReentrantLock lock = lockFor(productId);
+            lock.lock();
+            try {
+                Lease lease = leases.get(productId);
+                if (lease != null && lease.remaining > 0) {
+                    fromLease = Math.min(lease.remaining, units);
+                    lease.remaining -= fromLease;
+                    usedLeases.put(productId, lease);
+                    fromLeases.put(productId, fromLease);
+                    leaseDecrements.add(new Object[] { fromLease, lease.id });
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (units > fromLease) {
+                decrements.add(new Object[] { units - fromLease, productId, units - fromLease });
+                decremented.add(productId);
+            }
+        }
+
+        if (!leaseDecrements.isEmpty()) {
+            // Sold leased units leave the lease for good, so a restart does not give them back
+            jdbcTemplate.batchUpdate("UPDATE stock_leases SET units = units - ? WHERE lease_id = ?", leaseDecrements);
+        }
+        if (!decrements.isEmpty()) {
+            int[] updated = jdbcTemplate.batchUpdate(
+                "UPDATE products SET quantity = quantity - ? WHERE id = ? AND quantity >= ?", decrements);
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] != 1) {
+                    throw new IllegalStateException("Not enough stock for product " + decremented.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Give back leased units of a rolled back sale: to the lease if it is
+     * still open, else to the products row it was returned to
+     */
+    private void restoreLeased(Long productId, Lease lease, int units) {
+        ReentrantLock lock = lockFor(productId);
+        lock.lock();
+        try {
+            if (leases.get(productId) == lease) {
+                lease.remaining += units;
+                return;
+            }
+            stockTransaction.executeWithoutResult(status -> jdbcTemplate.update(
+                "UPDATE products SET quantity = quantity + ? WHERE id = ?", units, productId));
+        } catch (Exception e) {
+            System.err.println("Error returning " + units + " leased units of product " + productId + ": " + e.getMessage());
+            return;
+        } finally {
+            lock.unlock();
+        }
+        stockChanged(List.of(productId), true);
+    }
+
+    /**
+     * Run a write that sets products.quantity to absolute values
+     *
+     * The products' leases are returned first and no reservation can touch
+     * them until the write returns, so leased units are neither added on top
+     * of the new value later nor sold beyond it. The write must commit before
+     * it returns.
+     */
+    public <T> T overwriteStock(Collection<Long> productIds, Supplier<T> write) {
+        List<ReentrantLock> held = new ArrayList<>();
+        TreeSet<Integer> stripes = new TreeSet<>();
+        productIds.forEach(productId -> stripes.add(stripeOf(productId)));
+        try {
+            // Always in stripe order, so two writers cannot deadlock
+            for (Integer stripe : stripes) {
+                locks[stripe].lock();
+                held.add(locks[stripe]);
+            }
+            List<Long> leased = new ArrayList<>();
+            for (Long productId : productIds) {
+                if (leases.containsKey(productId)) {
+                    leased.add(productId);
+                }
+            }
+            if (!returnLeases(leased)) {
+                throw new IllegalStateException("Could not return leased stock");
+            }
+            return write.get();
+        } finally {
+            held.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    /**
+     * Sellable units: the products row plus units leased into memory
+     */
+    public int getAvailable(Long productId) {
+        List<Integer> quantity = jdbcTemplate.queryForList(
+            "SELECT quantity FROM products WHERE id = ?", Integer.class, productId);
+        int rowQuantity = quantity.isEmpty() || quantity.get(0) == null ? 0 : quantity.get(0);
+        Lease lease = leases.get(productId);
+        return rowQuantity + (lease != null ? lease.remaining : 0);
+    }
+
+    /**
+     * Ledger statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeReservations", jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM stock_reservations WHERE status = ?", Long.class, StockReservation.PENDING));
+        stats.put("leasedProducts", leases.size());
+        stats.put("leasedUnits", leases.values().stream().mapToInt(lease -> lease.remaining).sum());
+        return stats;
+    }
+
+    /**
+     * Release expired reservations and hand leases of products that cooled down
+     * back to the database in one batch
+     */
+    @Scheduled(fixedDelayString = "${inventory.maintenance-interval-ms:5000}")
+    public void maintain() {
+        try {
+            List<String> expired;
+            do {
+                expired = jdbcTemplate.queryForList(
+                    "SELECT reservation_id FROM stock_reservations WHERE status = ? AND expires_at < ? LIMIT ?",
+                    String.class, StockReservation.PENDING, Timestamp.valueOf(LocalDateTime.now()), EXPIRY_BATCH_SIZE);
+                expired.forEach(this::release);
+            } while (expired.size() == EXPIRY_BATCH_SIZE);
+
+            List<Long> cooled = new ArrayList<>();
+            for (Long productId : leases.keySet()) {
+                AtomicInteger recent = demand.get(productId);
+                if (recent == null || recent.get() < hotSkuThreshold) {
+                    cooled.add(productId);
+                }
+            }
+            returnLeases(cooled);
+            demand.clear();
+        } catch (Exception e) {
+            System.err.println("Error in inventory maintenance: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Put every leased unit back into the products table before shutdown
+     */
+    @PreDestroy
+    public void shutdown() {
+        returnLeases(new ArrayList<>(leases.keySet()));
+    }
+
+    /**
+     * Return the leases of several products in one transaction
+     *
+     * @return false if the write failed; the leases then stay open and the next run retries
+     */
+    private boolean returnLeases(List<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return true;
+        }
+        TreeSet<Integer> stripes = new TreeSet<>();
+        productIds.forEach(productId -> stripes.add(stripeOf(productId)));
+        List<ReentrantLock> held = new ArrayList<>();
+        List<Long> returned = new ArrayList<>();
+        try {
+            for (Integer stripe : stripes) {
+                locks[stripe].lock();
+                held.add(locks[stripe]);
+            }
+            stockTransaction.executeWithoutResult(status -> {
+                for (Long productId : productIds) {
+                    Lease lease = leases.get(productId);
+                    if (lease != null) {
+                        closeLease(productId, lease.id, lease.remaining);
+                        returned.add(productId);
+                    }
+                }
+            });
+            returned.forEach(leases::remove);
+        } catch (Exception e) {
+            System.err.println("Error returning leased stock: " + e.getMessage());
+            return false;
+        } finally {
+            held.forEach(ReentrantLock::unlock);
+        }
+        stockChanged(returned, true);
+        return true;
+    }
+
+    /**
+     * Give a lease's remaining units back to the row and settle its reservations
+     * (in the caller's transaction)
+     */
+    private void closeLease(Long productId, String leaseId, int remaining) {
+        if (remaining > 0) {
+            jdbcTemplate.update("UPDATE products SET quantity = quantity + ? WHERE id = ?", remaining, productId);
+        }
+        jdbcTemplate.update("DELETE FROM stock_reservations WHERE lease_id = ? AND status = ?",
+            leaseId, StockReservation.CONFIRMED);
+        // Pending reservations now give all their units back to the row
+        jdbcTemplate.update("UPDATE stock_reservations SET lease_id = NULL, leased_units = 0 WHERE lease_id = ?", leaseId);
+        jdbcTemplate.update("DELETE FROM stock_leases WHERE product_id = ?", productId);
+    }
+
+    /**
+     * Atomically take units from the products row (in the caller's transaction)
+     *
+     * @return false if the row has fewer units than requested
+     */
+    private boolean takeFromRow(Long productId, int units) {
+        return jdbcTemplate.update(
+            "UPDATE products SET quantity = quantity - ? WHERE id = ? AND quantity >= ?",
+            units, productId, units) == 1;
+    }
+
+    private StockReservation findPending(String reservationId) {
+        return jdbcTemplate.query(
+            "SELECT product_id, quantity, expires_at FROM stock_reservations WHERE reservation_id = ? AND status = ?",
+            (rs, i) -> {
+                StockReservation reservation = new StockReservation();
+                reservation.setReservationId(reservationId);
+                reservation.setProductId(rs.getLong("product_id"));
+                reservation.setQuantity(rs.getInt("quantity"));
+                reservation.setExpiresAt(rs.getTimestamp("expires_at").toLocalDateTime());
+                return reservation;
+            },
+            reservationId, StockReservation.PENDING).stream().findFirst().orElse(null);
+    }
+
+    /**
+     * Publish a stock change: when products.quantity changed, the cached product
+     * lists, their version and the search and facet indexes are refreshed
+     */
+    private void stockChanged(Collection<Long> productIds, boolean rowChanged) {
+        if (!rowChanged || productIds.isEmpty()) {
+            return;
+        }
+        try {
+            Cache products = cacheManager.getCache("products");
+            if (products != null) {
+                products.clear();
+            }
+            resourceVersionService.bump(ResourceVersionService.PRODUCTS);
+            List<Product> changed = productRepository.findAllById(productIds);
+            productSearchService.indexProducts(changed);
+            productFacetService.indexProducts(changed);
+        } catch (Exception e) {
+            System.err.println("Error refreshing product indexes after a stock change: " + e.getMessage());
+        }
+    }
+
+    private int stripeOf(Long productId) {
+        return Math.floorMod(productId.hashCode(), LOCK_STRIPES);
+    }
+
+    private ReentrantLock lockFor(Long productId) {
+        return locks[stripeOf(productId)];
+    }
+
+    /**
+     * Open lease of a hot product: units taken from the row and not yet reserved
+     */
+    private static final class Lease {
+        final String id;
+        int remaining;
+
+        Lease(String id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Stock held for a pending purchase
+     */
+    public static final class Reservation {
+        private final String id;
+        private final Long productId;
+        private final int quantity;
+        private final LocalDateTime expiresAt;
+
+        Reservation(String id, Long productId, int quantity, LocalDateTime expiresAt) {
+            this.id = id;
+            this.productId = productId;
+            this.quantity = quantity;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Long getProductId() {
+            return productId;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public LocalDateTime getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
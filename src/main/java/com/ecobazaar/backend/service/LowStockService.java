@@ -0,0 +1,346 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.Product;
+import com.ecobazaar.backend.entity.Store;
+import com.ecobazaar.backend.event.LowStockEvent;
+import com.ecobazaar.backend.repository.ProductRepository;
+import com.ecobazaar.backend.repository.StoreRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Low Stock Service
+ *
+ * Keeps every active product's stock level in memory, plus a set per store
+ * (and one across all stores) of the products at or below the store's
+ * low-stock threshold, ordered by quantity. The product write paths and the
+ * inventory service report quantity changes here, so the dashboard reads the
+ * first k entries of a set instead of scanning the products table.
+ *
+ * A {@link LowStockEvent} is published whenever a product crosses its
+ * threshold in either direction.
+ */
+@Service
+public class LowStockService {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    // Products without a store are tracked under this key
+    private static final String NO_STORE = "";
+
+    private static final Comparator<StockLevel> BY_QUANTITY =
+        Comparator.comparingInt(StockLevel::quantity).thenComparing(StockLevel::productId);
+
+    @Value("${inventory.low-stock-threshold:10}")
+    private int defaultThreshold;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // productId -> current stock level of every tracked product
+    private final Map<Long, StockLevel> levels = new HashMap<>();
+
+    // storeId -> all tracked products of the store, to re-evaluate on a threshold change
+    private final Map<String, Set<Long>> storeProducts = new HashMap<>();
+
+    // storeId -> products at or below the store's threshold
+    private final Map<String, NavigableSet<StockLevel>> lowStockByStore = new HashMap<>();
+
+    // Products at or below their store's threshold, across all stores
+    private final NavigableSet<StockLevel> lowStock = new TreeSet<>(BY_QUANTITY);
+
+    // storeId -> threshold, for stores that override the default
+    private final Map<String, Integer> thresholds = new HashMap<>();
+
+    /**
+     * Rebuild the index from the database once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        try {
+            long start = System.currentTimeMillis();
+            lock.writeLock().lock();
+            try {
+                levels.clear();
+                storeProducts.clear();
+                lowStockByStore.clear();
+                lowStock.clear();
+                thresholds.clear();
+                for (Store store : storeRepository.findAll()) {
+                    if (store.getStoreId() != null && store.getLowStockThreshold() != null) {
+                        thresholds.put(store.getStoreId(), store.getLowStockThreshold());
+                    }
+                }
+                try (Stream<Product> products = productRepository.streamAllProducts()) {
+                    products.forEach(product -> {
+                        StockLevel level = toLevel(product);
+                        if (level != null) {
+                            put(level);
+                        }
+                    });
+                }
+                System.out.println("Low stock index built: " + lowStock.size() + " of " + levels.size()
+                    + " products low in " + (System.currentTimeMillis() - start) + " ms");
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (Exception e) {
+            System.err.println("Error building low stock index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Record a product's current stock after an add or update; inactive products are dropped
+     */
+    public void trackProduct(Product product) {
+        if (product != null) {
+            trackProducts(List.of(product));
+        }
+    }
+
+    /**
+     * Record the current stock of several products under a single lock
+     */
+    public void trackProducts(Collection<Product> products) {
+        List<LowStockEvent> events = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            for (Product product : products) {
+                if (product == null || product.getId() == null) {
+                    continue;
+                }
+                StockLevel previous = remove(product.getId());
+                StockLevel current = toLevel(product);
+                if (current != null) {
+                    put(current);
+                }
+                addCrossing(events, previous, current);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        events.forEach(eventPublisher::publishEvent);
+    }
+
+    /**
+     * Stop tracking a deleted product
+     */
+    public void removeProduct(Long productId) {
+        lock.writeLock().lock();
+        try {
+            remove(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a relative stock change (reservations, releases)
+     */
+    public void adjustQuantity(Long productId, int delta) {
+        LowStockEvent event = null;
+        lock.writeLock().lock();
+        try {
+            StockLevel previous = levels.get(productId);
+            if (previous == null || delta == 0) {
+                return;
+            }
+            remove(productId);
+            StockLevel current = new StockLevel(productId, previous.storeId(), previous.name(),
+                Math.max(0, previous.quantity() + delta));
+            put(current);
+            List<LowStockEvent> events = new ArrayList<>(1);
+            addCrossing(events, previous, current);
+            event = events.isEmpty() ? null : events.get(0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (event != null) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    /**
+     * Change a store's threshold and re-evaluate its products
+     *
+     * @param threshold new threshold, or null to use the default
+     */
+    public void setThreshold(String storeId, Integer threshold) {
+        if (storeId == null) {
+            return;
+        }
+        List<LowStockEvent> events = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            Map<Long, StockLevel> before = new HashMap<>();
+            for (Long productId : storeProducts.getOrDefault(storeId, Set.of())) {
+                before.put(productId, levels.get(productId));
+            }
+            Map<Long, Boolean> wasLow = new HashMap<>();
+            before.forEach((productId, level) -> wasLow.put(productId, isLow(level)));
+
+            if (threshold != null) {
+                thresholds.put(storeId, threshold);
+            } else {
+                thresholds.remove(storeId);
+            }
+
+            NavigableSet<StockLevel> storeLow = new TreeSet<>(BY_QUANTITY);
+            for (StockLevel level : before.values()) {
+                lowStock.remove(level);
+                boolean low = isLow(level);
+                if (low) {
+                    storeLow.add(level);
+                    lowStock.add(level);
+                }
+                if (low != wasLow.get(level.productId())) {
+                    events.add(new LowStockEvent(low ? LowStockEvent.Type.LOW_STOCK : LowStockEvent.Type.RESTOCKED,
+                        level.productId(), storeId, level.quantity(), level.quantity(), thresholdOf(storeId)));
+                }
+            }
+            if (storeLow.isEmpty()) {
+                lowStockByStore.remove(storeId);
+            } else {
+                lowStockByStore.put(storeId, storeLow);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        events.forEach(eventPublisher::publishEvent);
+    }
+
+    /**
+     * Products at or below their threshold, lowest stock first
+     *
+     * @param storeId store to list, or null for all stores
+     * @param limit maximum number of entries
+     * @return Map with threshold (for a single store), total and items
+     */
+    public Map<String, Object> getLowStock(String storeId, Integer limit) {
+        int maxResults = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        lock.readLock().lock();
+        try {
+            NavigableSet<StockLevel> source = storeId == null ? lowStock
+                : lowStockByStore.getOrDefault(storeId, new TreeSet<>(BY_QUANTITY));
+            List<Map<String, Object>> items = new ArrayList<>(Math.min(maxResults, source.size()));
+            for (StockLevel level : source) {
+                if (items.size() == maxResults) {
+                    break;
+                }
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("productId", level.productId());
+                item.put("name", level.name());
+                item.put("storeId", NO_STORE.equals(level.storeId()) ? null : level.storeId());
+                item.put("quantity", level.quantity());
+                item.put("threshold", thresholdOf(level.storeId()));
+                items.add(item);
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            if (storeId != null) {
+                result.put("storeId", storeId);
+                result.put("threshold", thresholdOf(storeId));
+            }
+            result.put("total", source.size());
+            result.put("items", items);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private StockLevel toLevel(Product product) {
+        if (Boolean.FALSE.equals(product.getIsActive())) {
+            return null;
+        }
+        String storeId = product.getStoreId() != null ? product.getStoreId() : NO_STORE;
+        int quantity = product.getQuantity() != null ? product.getQuantity() : 0;
+        return new StockLevel(product.getId(), storeId, product.getName(), quantity);
+    }
+
+    private void put(StockLevel level) {
+        levels.put(level.productId(), level);
+        storeProducts.computeIfAbsent(level.storeId(), id -> new HashSet<>()).add(level.productId());
+        if (isLow(level)) {
+            lowStockByStore.computeIfAbsent(level.storeId(), id -> new TreeSet<>(BY_QUANTITY)).add(level);
+            lowStock.add(level);
+        }
+    }
+
+    private StockLevel remove(Long productId) {
+        StockLevel level = levels.remove(productId);
+        if (level == null) {
+            return null;
+        }
+        Set<Long> products = storeProducts.get(level.storeId());
+        if (products != null) {
+            products.remove(productId);
+            if (products.isEmpty()) {
+                storeProducts.remove(level.storeId());
+            }
+        }
+        NavigableSet<StockLevel> storeLow = lowStockByStore.get(level.storeId());
+        if (storeLow != null) {
+            storeLow.remove(level);
+            if (storeLow.isEmpty()) {
+                lowStockByStore.remove(level.storeId());
+            }
+        }
+        lowStock.remove(level);
+        return level;
+    }
+
+    private void addCrossing(List<LowStockEvent> events, StockLevel previous, StockLevel current) {
+        if (current == null) {
+            return;
+        }
+        boolean wasLow = previous != null && previous.storeId().equals(current.storeId()) && isLow(previous);
+        boolean low = isLow(current);
+        int previousQuantity = previous != null ? previous.quantity() : current.quantity();
+        if (low != wasLow && (low || previous != null)) {
+            events.add(new LowStockEvent(low ? LowStockEvent.Type.LOW_STOCK : LowStockEvent.Type.RESTOCKED,
+                current.productId(), current.storeId(), previousQuantity, current.quantity(),
+                thresholdOf(current.storeId())));
+        }
+    }
+
+    private boolean isLow(StockLevel level) {
+        return level.quantity() <= thresholdOf(level.storeId());
+    }
+
+    private int thresholdOf(String storeId) {
+        return thresholds.getOrDefault(storeId, defaultThreshold);
+    }
+
+    private record StockLevel(Long productId, String storeId, String name, int quantity) {
+    }
+}
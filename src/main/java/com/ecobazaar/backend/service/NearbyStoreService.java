@@ -0,0 +1,252 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.Store;
+import com.ecobazaar.backend.repository.StoreRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Nearby Store Service
+ *
+ * Grid index over store coordinates: the globe is cut into CELL_DEGREES x
+ * CELL_DEGREES cells and each active, verified store with a location sits in
+ * the cell containing it. A nearby query only visits the cells overlapping the
+ * bounding box of the search radius and keeps the k closest stores (haversine
+ * distance) in a bounded heap.
+ *
+ * The index is rebuilt at startup and updated by the store write paths.
+ */
+@Service
+public class NearbyStoreService {
+
+    public static final double DEFAULT_RADIUS_KM = 10.0;
+    public static final double MAX_RADIUS_KM = 200.0;
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    // ~11 km of latitude per cell
+    private static final double CELL_DEGREES = 0.1;
+    private static final int LON_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // cell key -> stores in the cell
+    private final Map<Long, List<Store>> cells = new HashMap<>();
+
+    // store id -> indexed snapshot, to find the old cell when a store moves or is removed
+    private final Map<Long, Store> stores = new HashMap<>();
+
+    /**
+     * Rebuild the grid from the database once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        try {
+            long start = System.currentTimeMillis();
+            List<Store> allStores = storeRepository.findAll();
+            lock.writeLock().lock();
+            try {
+                cells.clear();
+                stores.clear();
+                allStores.forEach(this::addToIndex);
+                System.out.println("Nearby store index built: " + stores.size() + " stores in "
+                    + cells.size() + " cells in " + (System.currentTimeMillis() - start) + " ms");
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (Exception e) {
+            System.err.println("Error building nearby store index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Add, move or drop a store; only active, verified stores with coordinates are searchable
+     */
+    public void indexStore(Store store) {
+        if (store != null) {
+            indexStores(List.of(store));
+        }
+    }
+
+    /**
+     * Index several stores under a single lock
+     */
+    public void indexStores(Collection<Store> storesToIndex) {
+        lock.writeLock().lock();
+        try {
+            for (Store store : storesToIndex) {
+                if (store != null && store.getId() != null) {
+                    removeFromIndex(store.getId());
+                    addToIndex(store);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a store from the grid
+     */
+    public void removeStore(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeFromIndex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the stores closest to a point
+     *
+     * @param latitude latitude of the point, -90..90
+     * @param longitude longitude of the point, -180..180
+     * @param radiusKm search radius, clamped to MAX_RADIUS_KM
+     * @param limit maximum number of stores, clamped to MAX_LIMIT
+     * @return stores with their distance in km, nearest first
+     */
+    public List<Map<String, Object>> findNearby(double latitude, double longitude, Double radiusKm, Integer limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordinates out of range");
+        }
+        double radius = radiusKm == null || radiusKm <= 0 ? DEFAULT_RADIUS_KM : Math.min(radiusKm, MAX_RADIUS_KM);
+        int maxResults = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+
+        // Bounding box of the search circle, in cells
+        double latDelta = radius / KM_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(Math.min(89.0, Math.abs(latitude) + latDelta)));
+        double lonDelta = Math.min(180.0, radius / (KM_PER_DEGREE * cosLat));
+        int minLatCell = latCell(Math.max(-90.0, latitude - latDelta));
+        int maxLatCell = latCell(Math.min(90.0, latitude + latDelta));
+        int lonSpan = (int) Math.ceil(lonDelta / CELL_DEGREES) + 1;
+        boolean wholeRow = lonSpan * 2 + 1 >= LON_CELLS;
+        int minLonCell = wholeRow ? 0 : lonCell(longitude) - lonSpan;
+        int maxLonCell = wholeRow ? LON_CELLS - 1 : lonCell(longitude) + lonSpan;
+
+        // Max-heap on distance holding the best k candidates
+        PriorityQueue<Candidate> best = new PriorityQueue<>(
+            Comparator.comparingDouble(Candidate::distanceKm).reversed());
+
+        lock.readLock().lock();
+        try {
+            for (int latIndex = minLatCell; latIndex <= maxLatCell; latIndex++) {
+                for (int lonIndex = minLonCell; lonIndex <= maxLonCell; lonIndex++) {
+                    // floorMod wraps the box across the antimeridian
+                    List<Store> cell = cells.get(cellKey(latIndex, Math.floorMod(lonIndex, LON_CELLS)));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (Store store : cell) {
+                        double distance = haversineKm(latitude, longitude, store.getLatitude(), store.getLongitude());
+                        if (distance > radius) {
+                            continue;
+                        }
+                        if (best.size() < maxResults) {
+                            best.add(new Candidate(store, distance));
+                        } else if (distance < best.peek().distanceKm()) {
+                            best.poll();
+                            best.add(new Candidate(store, distance));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Candidate> nearest = new ArrayList<>(best);
+        nearest.sort(Comparator.comparingDouble(Candidate::distanceKm));
+        List<Map<String, Object>> results = new ArrayList<>(nearest.size());
+        for (Candidate candidate : nearest) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("store", candidate.store());
+            result.put("distanceKm", Math.round(candidate.distanceKm() * 1000) / 1000.0);
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * Get index statistics
+     */
+    public Map<String, Object> getIndexStats() {
+        lock.readLock().lock();
+        try {
+            return Map.of(
+                "indexedStores", stores.size(),
+                "cells", cells.size()
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addToIndex(Store store) {
+        if (!Boolean.TRUE.equals(store.getIsActive()) || !Boolean.TRUE.equals(store.getIsVerified())
+                || store.getLatitude() == null || store.getLongitude() == null
+                || Math.abs(store.getLatitude()) > 90 || Math.abs(store.getLongitude()) > 180) {
+            return;
+        }
+        long key = cellKey(latCell(store.getLatitude()), lonCell(store.getLongitude()));
+        cells.computeIfAbsent(key, k -> new ArrayList<>()).add(store);
+        stores.put(store.getId(), store);
+    }
+
+    private void removeFromIndex(Long id) {
+        Store previous = stores.remove(id);
+        if (previous == null) {
+            return;
+        }
+        long key = cellKey(latCell(previous.getLatitude()), lonCell(previous.getLongitude()));
+        List<Store> cell = cells.get(key);
+        if (cell != null) {
+            cell.removeIf(store -> store.getId().equals(id));
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private static int latCell(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+
+    private static int lonCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LON_CELLS);
+    }
+
+    private static long cellKey(int latIndex, int lonIndex) {
+        return (long) latIndex * LON_CELLS + lonIndex;
+    }
+
+    private static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private record Candidate(Store store, double distanceKm) {
+    }
+}
@@ -0,0 +1,284 @@
+package com.ecobazaar.backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Order Archive Service
+ *
+ * Keeps the orders table small by moving closed (COMPLETED or CANCELLED)
+ * orders older than the configured age, together with their user_orders and
+ * payment_transactions rows, to the matching *_archive tables. Candidates are
+ * walked in (created_at, id) order over idx_orders_created in small batches;
+ * each batch is copied with INSERT ... SELECT and deleted in one transaction,
+ * and the job pauses between batches so it never monopolizes the database.
+ *
+ * Archived orders keep their ids and stay reachable through
+ * OrderRepository.findByIdOrArchived; rollups and counters include them.
+ */
+@Service
+public class OrderArchiveService {
+
+    // hot table -> archive table
+    private static final Map<String, String> TABLES = new LinkedHashMap<>();
+
+    static {
+        TABLES.put("orders", "orders_archive");
+        TABLES.put("user_orders", "user_orders_archive");
+        TABLES.put("payment_transactions", "payment_transactions_archive");
+    }
+
+    private static final String CLOSED = "order_status IN ('COMPLETED', 'CANCELLED')";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Proxy of this bean, so submit() reaches the @Async runAsync()
+    @Autowired
+    @Lazy
+    private OrderArchiveService self;
+
+    @Value("${orders.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${orders.archive.min-age-days:365}")
+    private int minAgeDays;
+
+    @Value("${orders.archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${orders.archive.pause-ms:250}")
+    private long pauseMs;
+
+    @Value("${orders.archive.max-batches-per-run:1000}")
+    private int maxBatchesPerRun;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile Map<String, Object> lastRun;
+
+    public OrderArchiveService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Nightly archival run
+     */
+    @Scheduled(cron = "${orders.archive.cron:0 0 4 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            run(minAgeDays);
+        }
+    }
+
+    /**
+     * Start a run on the async executor
+     *
+     * @param ageDays archive orders created more than this many days ago, or null for the configured age
+     * @throws IllegalStateException if a run is in progress
+     */
+    public void submit(Integer ageDays) {
+        if (ageDays != null && ageDays < 0) {
+            throw new IllegalArgumentException("ageDays must not be negative");
+        }
+        if (running.get()) {
+            throw new IllegalStateException("Order archival is already running");
+        }
+        self.runAsync(ageDays != null ? ageDays : minAgeDays);
+    }
+
+    @Async
+    public void runAsync(int ageDays) {
+        run(ageDays);
+    }
+
+    /**
+     * Progress of the current run, or the result of the last one
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", running.get());
+        status.put("enabled", enabled);
+        status.put("minAgeDays", minAgeDays);
+        Map<String, Object> run = lastRun;
+        if (run != null) {
+            synchronized (run) {
+                status.put("lastRun", new LinkedHashMap<>(run));
+            }
+        } else {
+            status.put("lastRun", null);
+        }
+        return status;
+    }
+
+    /**
+     * Move closed orders created before now - ageDays, batch by batch
+     */
+    void run(int ageDays) {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        Map<String, Object> progress = Collections.synchronizedMap(new LinkedHashMap<>());
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(ageDays);
+        progress.put("startedAt", LocalDateTime.now().toString());
+        progress.put("cutoff", cutoff.toString());
+        lastRun = progress;
+        long orders = 0;
+        long orderLines = 0;
+        long payments = 0;
+        int batches = 0;
+        try {
+            Map<String, String> columns = new LinkedHashMap<>();
+            TABLES.forEach((table, archive) -> columns.put(table, copyColumns(table, archive)));
+
+            Timestamp lastCreatedAt = null;
+            long lastId = 0;
+            while (batches < maxBatchesPerRun) {
+                List<Object[]> candidates = nextBatch(cutoff, lastCreatedAt, lastId);
+                if (candidates.isEmpty()) {
+                    break;
+                }
+                List<Object> ids = new ArrayList<>();
+                List<Object> orderIds = new ArrayList<>();
+                for (Object[] candidate : candidates) {
+                    ids.add(candidate[0]);
+                    orderIds.add(candidate[1]);
+                }
+                long[] moved = transactionTemplate.execute(status -> moveBatch(columns, ids, orderIds));
+                Object[] last = candidates.get(candidates.size() - 1);
+                lastId = (Long) last[0];
+                lastCreatedAt = (Timestamp) last[2];
+                batches++;
+                if (moved != null) {
+                    orders += moved[0];
+                    orderLines += moved[1];
+                    payments += moved[2];
+                }
+                progress.put("batches", batches);
+                progress.put("orders", orders);
+                progress.put("orderLines", orderLines);
+                progress.put("payments", payments);
+                if (candidates.size() < batchSize) {
+                    break;
+                }
+                Thread.sleep(pauseMs);
+            }
+            System.out.println("Archived " + orders + " orders in " + batches + " batches");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progress.put("error", "Interrupted");
+        } catch (Exception e) {
+            progress.put("error", e.getMessage());
+            System.err.println("Error archiving orders: " + e.getMessage());
+        } finally {
+            progress.put("batches", batches);
+            progress.put("orders", orders);
+            progress.put("orderLines", orderLines);
+            progress.put("payments", payments);
+            progress.put("finishedAt", LocalDateTime.now().toString());
+            running.set(false);
+        }
+    }
+
+    /**
+     * Next closed orders after the (createdAt, id) cursor
+     *
+     * @return rows of id, order_id and created_at
+     */
+    private List<Object[]> nextBatch(LocalDateTime cutoff, Timestamp lastCreatedAt, long lastId) {
+        if (lastCreatedAt == null) {
+            return jdbcTemplate.query(
+                "SELECT id, order_id, created_at FROM orders WHERE created_at < ? AND " + CLOSED +
+                " ORDER BY created_at, id LIMIT ?",
+                (rs, i) -> new Object[] { rs.getLong(1), rs.getString(2), rs.getTimestamp(3) },
+                Timestamp.valueOf(cutoff), batchSize);
+        }
+        return jdbcTemplate.query(
+            "SELECT id, order_id, created_at FROM orders WHERE created_at < ? " +
+            "AND created_at >= ? AND (created_at > ? OR id > ?) AND " + CLOSED +
+            " ORDER BY created_at, id LIMIT ?",
+            (rs, i) -> new Object[] { rs.getLong(1), rs.getString(2), rs.getTimestamp(3) },
+            Timestamp.valueOf(cutoff), lastCreatedAt, lastCreatedAt, lastId, batchSize);
+    }
+
+    /**
+     * Copy a batch of orders and their lines and payments to the archive, then delete them
+     *
+     * @return number of orders, lines and payments moved
+     */
+    private long[] moveBatch(Map<String, String> columns, List<Object> ids, List<Object> orderIds) {
+        Timestamp archivedAt = Timestamp.valueOf(LocalDateTime.now());
+        String idList = placeholders(ids.size());
+        String orderIdList = placeholders(orderIds.size());
+
+        int lines = copy(columns, "user_orders", "order_id IN (" + orderIdList + ")", archivedAt, orderIds);
+        int payments = copy(columns, "payment_transactions", "order_id IN (" + orderIdList + ")", archivedAt, orderIds);
+        int orders = copy(columns, "orders", "id IN (" + idList + ")", archivedAt, ids);
+
+        jdbcTemplate.update("DELETE FROM user_orders WHERE order_id IN (" + orderIdList + ")", orderIds.toArray());
+        jdbcTemplate.update("DELETE FROM payment_transactions WHERE order_id IN (" + orderIdList + ")", orderIds.toArray());
+        jdbcTemplate.update("DELETE FROM orders WHERE id IN (" + idList + ")", ids.toArray());
+        return new long[] { orders, lines, payments };
+    }
+
+    private int copy(Map<String, String> columns, String table, String where, Timestamp archivedAt, List<Object> keys) {
+        List<Object> params = new ArrayList<>(keys.size() + 1);
+        params.add(archivedAt);
+        params.addAll(keys);
+        String columnList = columns.get(table);
+        return jdbcTemplate.update(
+            "INSERT INTO " + TABLES.get(table) + " (" + columnList + ", archived_at) " +
+            "SELECT " + columnList + ", ? FROM " + table + " WHERE " + where,
+            params.toArray());
+    }
+
+    /**
+     * Columns present in both the hot and the archive table, so a column added
+     * to an entity later never breaks the copy
+     */
+    private String copyColumns(String table, String archive) {
+        Set<String> common = columnsOf(table);
+        common.retainAll(columnsOf(archive));
+        common.remove("archived_at");
+        if (common.isEmpty()) {
+            throw new IllegalStateException("No columns to archive for " + table);
+        }
+        return String.join(", ", common);
+    }
+
+    private Set<String> columnsOf(String table) {
+        return jdbcTemplate.query("SELECT * FROM " + table + " WHERE 1 = 0", rs -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+            Set<String> columns = new LinkedHashSet<>();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                columns.add(metaData.getColumnName(i).toLowerCase());
+            }
+            return columns;
+        });
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,199 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.OrderEvent;
+import com.ecobazaar.backend.repository.OrderEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order Event Dispatcher
+ *
+ * Delivers order_events outbox rows to every OrderEventListener bean. A
+ * dedicated thread polls due events in id order in batches, calls the
+ * listeners, and marks the whole batch with one JDBC batch update. A failed
+ * event is retried with exponential backoff and marked FAILED after the
+ * configured number of attempts; later events of the same order wait behind
+ * it so each order's events stay in order. Listeners run on this thread only,
+ * never on the request or the shared scheduler threads.
+ *
+ * Delivered events are purged after the retention period.
+ */
+@Service
+public class OrderEventDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired(required = false)
+    private List<OrderEventListener> listeners = List.of();
+
+    @Value("${orders.events.batch-size:100}")
+    private int batchSize;
+
+    @Value("${orders.events.poll-interval-ms:500}")
+    private long pollIntervalMs;
+
+    @Value("${orders.events.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${orders.events.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${orders.events.retention-days:7}")
+    private int retentionDays;
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-event-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::dispatchAll, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Deliver batches until no event is due
+     */
+    void dispatchAll() {
+        try {
+            while (dispatchBatch() == batchSize) {
+                // A full batch means more events may be due
+            }
+        } catch (Exception e) {
+            System.err.println("Error dispatching order events: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deliver one batch of due events
+     *
+     * @return number of events read
+     */
+    int dispatchBatch() {
+        List<OrderEvent> events = orderEventRepository.findDue(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> blockedOrders = new HashSet<>();
+        List<Object[]> dispatched = new ArrayList<>();
+        List<Object[]> retried = new ArrayList<>();
+        for (OrderEvent event : events) {
+            if (blockedOrders.contains(event.getOrderId())) {
+                continue;
+            }
+            String error = deliver(event);
+            if (error == null) {
+                dispatched.add(new Object[] { Timestamp.valueOf(now), event.getId() });
+                continue;
+            }
+            blockedOrders.add(event.getOrderId());
+            int attempts = event.getAttempts() + 1;
+            String status = attempts >= maxAttempts ? OrderEvent.FAILED : OrderEvent.PENDING;
+            long backoff = retryBackoffMs << Math.min(attempts - 1, 16);
+            retried.add(new Object[] {
+                status, attempts, Timestamp.valueOf(now.plusNanos(backoff * 1_000_000)),
+                error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error, event.getId()
+            });
+            if (OrderEvent.FAILED.equals(status)) {
+                System.err.println("Order event " + event.getId() + " failed after " + attempts + " attempts: " + error);
+            }
+        }
+
+        if (!dispatched.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "UPDATE order_events SET status = 'DISPATCHED', dispatched_at = ?, attempts = attempts + 1 WHERE id = ?",
+                dispatched);
+        }
+        if (!retried.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "UPDATE order_events SET status = ?, attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?",
+                retried);
+        }
+        return events.size();
+    }
+
+    /**
+     * Call every listener with the event
+     *
+     * @return null on success, otherwise the first error
+     */
+    private String deliver(OrderEvent event) {
+        for (OrderEventListener listener : listeners) {
+            try {
+                listener.onOrderEvent(event);
+            } catch (Exception e) {
+                return listener.getClass().getSimpleName() + ": " + e.getMessage();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Number of outbox events per delivery state
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Object[] row : orderEventRepository.countByStatus()) {
+            counts.put((String) row[0], (Long) row[1]);
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("listeners", listeners.size());
+        stats.put("events", counts);
+        return stats;
+    }
+
+    /**
+     * Delete delivered events older than the retention period
+     */
+    @Scheduled(cron = "${orders.events.purge-cron:0 30 3 * * *}")
+    public void purgeDispatched() {
+        try {
+            int deleted = jdbcTemplate.update("DELETE FROM order_events WHERE status = 'DISPATCHED' AND dispatched_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays)));
+            if (deleted > 0) {
+                System.out.println("Purged " + deleted + " dispatched order events");
+            }
+        } catch (Exception e) {
+            System.err.println("Error purging order events: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.OrderEvent;
+
+/**
+ * In-process consumer of order lifecycle events. Every Spring bean implementing
+ * this interface is called by OrderEventDispatcher on its own thread, after the
+ * order change has committed, in event order. Delivery is at least once: if any
+ * listener throws, the event is retried later for all listeners, so handlers
+ * should be idempotent.
+ */
+public interface OrderEventListener {
+
+    void onOrderEvent(OrderEvent event) throws Exception;
+}
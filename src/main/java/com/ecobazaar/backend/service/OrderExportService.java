@@ -0,0 +1,197 @@
+package com.ecobazaar.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Order Export Service
+ *
+ * Writes the orders created in a date range as CSV or NDJSON straight from a
+ * forward-only, read-only JDBC cursor with a fixed fetch size (server-side
+ * cursor fetch on MySQL), so only one fetch block of rows is in memory at a
+ * time whatever the size of the export. Rows are written in created_at order
+ * over idx_orders_created; archived orders can be appended after the live ones.
+ */
+@Service
+public class OrderExportService {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+    public static final int DEFAULT_RANGE_DAYS = 31;
+    public static final int MAX_RANGE_DAYS = 3660;
+
+    private static final List<String> COLUMNS = List.of(
+        "id", "order_id", "user_id", "user_email", "user_name", "order_status", "payment_status",
+        "payment_method", "payment_id", "currency", "total_amount", "tax_amount", "shipping_amount",
+        "discount_amount", "final_amount", "carbon_footprint", "eco_points_earned", "tracking_number",
+        "created_at", "updated_at"
+    );
+
+    // Rows between explicit flushes of the response
+    private static final int FLUSH_INTERVAL = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${orders.export.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * Check the export parameters before the response is committed
+     *
+     * @throws IllegalArgumentException if the format or range is invalid
+     */
+    public void validate(String format, LocalDate from, LocalDate to) {
+        if (!CSV.equals(format) && !NDJSON.equals(format)) {
+            throw new IllegalArgumentException("format must be csv or ndjson");
+        }
+        // Checked after defaulting, so an open-ended range cannot reach back further than a closed one
+        LocalDate end = rangeEnd(to);
+        LocalDate start = rangeStart(from, end);
+        if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range must be ordered and at most " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    /**
+     * Stream the orders created from the first to the last day (inclusive)
+     *
+     * @param outputStream response body; not closed
+     * @param format csv or ndjson
+     * @param from first day, defaults to DEFAULT_RANGE_DAYS before to
+     * @param to last day, defaults to today
+     * @param includeArchived also write archived orders, after the live ones
+     * @param gzip compress the output
+     * @return number of rows written
+     */
+    public long export(OutputStream outputStream, String format, LocalDate from, LocalDate to,
+                       boolean includeArchived, boolean gzip) throws IOException {
+        validate(format, from, to);
+        LocalDate end = rangeEnd(to);
+        LocalDate start = rangeStart(from, end);
+        Timestamp rangeStart = Timestamp.valueOf(start.atStartOfDay());
+        Timestamp rangeEnd = Timestamp.valueOf(end.plusDays(1).atStartOfDay());
+
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : null;
+        Writer writer = new BufferedWriter(
+            new OutputStreamWriter(gzipStream != null ? gzipStream : outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        JsonGenerator generator = null;
+        if (NDJSON.equals(format)) {
+            generator = objectMapper.getFactory().createGenerator(writer);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // One object per line: no separator between root values besides the newline
+            generator.setRootValueSeparator(null);
+        } else {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        long[] written = new long[1];
+        JsonGenerator json = generator;
+        try {
+            for (String table : includeArchived ? List.of("orders", "orders_archive") : List.of("orders")) {
+                String sql = "SELECT " + String.join(", ", COLUMNS) + " FROM " + table +
+                    " WHERE created_at >= ? AND created_at < ? ORDER BY created_at, id";
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(fetchSize);
+                    statement.setTimestamp(1, rangeStart);
+                    statement.setTimestamp(2, rangeEnd);
+                    return statement;
+                }, rs -> {
+                    try {
+                        if (json != null) {
+                            writeJson(json, rs);
+                        } else {
+                            writeCsv(writer, rs);
+                        }
+                        if (++written[0] % FLUSH_INTERVAL == 0) {
+                            if (json != null) {
+                                json.flush();
+                            }
+                            writer.flush();
+                        }
+                    } catch (IOException e) {
+                        // Client went away: abort the query instead of reading the rest of the cursor
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        } finally {
+            if (json != null) {
+                json.close();
+            }
+            writer.flush();
+            if (gzipStream != null) {
+                gzipStream.finish();
+            }
+        }
+        return written[0];
+    }
+
+    private static LocalDate rangeEnd(LocalDate to) {
+        return to != null ? to : LocalDate.now();
+    }
+
+    private static LocalDate rangeStart(LocalDate from, LocalDate end) {
+        return from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+    }
+
+    private void writeCsv(Writer writer, ResultSet rs) throws IOException, SQLException {
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = value(rs.getObject(i + 1));
+            if (value != null) {
+                writer.write(csvField(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeJson(JsonGenerator generator, ResultSet rs) throws IOException, SQLException {
+        generator.writeStartObject();
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            generator.writeObjectField(COLUMNS.get(i), value(rs.getObject(i + 1)));
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    // Timestamps as ISO local date-times, like the JSON API
+    private static Object value(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime().toString() : value;
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,163 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.Order;
+import com.ecobazaar.backend.entity.OrderEvent;
+import com.ecobazaar.backend.entity.OrderStatus;
+import com.ecobazaar.backend.repository.OrderEventRepository;
+import com.ecobazaar.backend.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Order Lifecycle Service
+ *
+ * Single write path for order creation, status changes and deletion. Status
+ * changes are checked against the allowed transitions, and every change
+ * updates the rollups and writes an OrderEvent outbox row in the same
+ * transaction as the order itself; OrderEventDispatcher delivers the events to
+ * listeners in the background, so slow consumers never hold up the request.
+ * The in-memory status counters are updated once the transaction commits.
+ *
+ * Orders move forward through PENDING, CONFIRMED, SHIPPED, DELIVERED and
+ * COMPLETED (steps may be skipped) and can be cancelled until they ship.
+ */
+@Service
+public class OrderLifecycleService {
+
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(OrderStatus.PENDING, EnumSet.of(OrderStatus.CONFIRMED, OrderStatus.SHIPPED,
+            OrderStatus.DELIVERED, OrderStatus.COMPLETED, OrderStatus.CANCELLED));
+        TRANSITIONS.put(OrderStatus.CONFIRMED, EnumSet.of(OrderStatus.SHIPPED, OrderStatus.DELIVERED,
+            OrderStatus.COMPLETED, OrderStatus.CANCELLED));
+        TRANSITIONS.put(OrderStatus.SHIPPED, EnumSet.of(OrderStatus.DELIVERED, OrderStatus.COMPLETED));
+        TRANSITIONS.put(OrderStatus.DELIVERED, EnumSet.of(OrderStatus.COMPLETED));
+        TRANSITIONS.put(OrderStatus.COMPLETED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(OrderStatus.CANCELLED, EnumSet.noneOf(OrderStatus.class));
+    }
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private OrderRevenueRollupService orderRevenueRollupService;
+
+    @Autowired
+    private OrderStatusCounterService orderStatusCounterService;
+
+    /**
+     * Whether an order in status from may move to status to
+     */
+    public static boolean canTransition(OrderStatus from, OrderStatus to) {
+        return from == null || TRANSITIONS.getOrDefault(from, Set.of()).contains(to);
+    }
+
+    /**
+     * Save a new order and record its creation
+     */
+    @Transactional
+    public Order create(Order order) {
+        if (order.getOrderStatus() == null) {
+            order.setOrderStatus(OrderStatus.PENDING);
+        }
+        Order savedOrder = orderRepository.save(order);
+        orderCreated(savedOrder);
+        return savedOrder;
+    }
+
+    /**
+     * Record an order saved by the caller's transaction (checkout)
+     */
+    @Transactional
+    public void orderCreated(Order savedOrder) {
+        // The event id may need a connection of its own; take it before the rollup row is locked
+        orderEventRepository.save(new OrderEvent(savedOrder.getOrderId(), savedOrder.getUserId(),
+            OrderEvent.ORDER_CREATED, null, savedOrder.getOrderStatus().name()));
+        orderRevenueRollupService.orderCreated(savedOrder);
+        OrderStatus status = savedOrder.getOrderStatus();
+        afterCommit(() -> orderStatusCounterService.orderCreated(status));
+    }
+
+    /**
+     * Move an order to a new status
+     *
+     * @return the updated order, or empty if there is no order with the id
+     * @throws IllegalStateException if the transition is not allowed
+     */
+    @Transactional
+    public Optional<Order> changeStatus(Long id, OrderStatus newStatus) {
+        // Row lock: a concurrent change waits and then checks its transition against this one's result
+        Optional<Order> orderOptional = orderRepository.findByIdForUpdate(id);
+        if (orderOptional.isEmpty()) {
+            return Optional.empty();
+        }
+        Order order = orderOptional.get();
+        OrderStatus previousStatus = order.getOrderStatus();
+        if (previousStatus == newStatus) {
+            return Optional.of(order);
+        }
+        if (!canTransition(previousStatus, newStatus)) {
+            throw new IllegalStateException("Cannot change order status from " + previousStatus + " to " + newStatus);
+        }
+
+        order.setOrderStatus(newStatus);
+        Order updatedOrder = orderRepository.save(order);
+        orderRevenueRollupService.orderStatusChanged(updatedOrder, previousStatus);
+        salesRollupService.applyOrderStatus(updatedOrder.getOrderId(), newStatus.name());
+        orderEventRepository.save(new OrderEvent(updatedOrder.getOrderId(), updatedOrder.getUserId(),
+            OrderEvent.ORDER_STATUS_CHANGED, previousStatus != null ? previousStatus.name() : null, newStatus.name()));
+        afterCommit(() -> orderStatusCounterService.orderStatusChanged(previousStatus, newStatus));
+        return Optional.of(updatedOrder);
+    }
+
+    /**
+     * Delete an order
+     *
+     * @return false if there is no order with the id
+     */
+    @Transactional
+    public boolean delete(Long id) {
+        Optional<Order> orderOptional = orderRepository.findByIdForUpdate(id);
+        if (orderOptional.isEmpty()) {
+            return false;
+        }
+        Order order = orderOptional.get();
+        // Legacy rows may have no status
+        OrderStatus status = order.getOrderStatus();
+        orderRepository.delete(order);
+        orderRevenueRollupService.orderDeleted(order);
+        orderEventRepository.save(new OrderEvent(order.getOrderId(), order.getUserId(),
+            OrderEvent.ORDER_DELETED, status != null ? status.name() : null, null));
+        afterCommit(() -> orderStatusCounterService.orderDeleted(status));
+        return true;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.Order;
+import com.ecobazaar.backend.entity.OrderStatus;
+import com.ecobazaar.backend.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order Query Service
+ *
+ * Keyset (cursor) pages over orders, newest first by (createdAt, id), for all
+ * orders or filtered by user, status or email. Every variant is an index range
+ * scan that stops after limit + 1 rows, whatever the page depth.
+ */
+@Service
+public class OrderQueryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    /**
+     * Get one keyset page of orders; at most one filter may be given
+     *
+     * @param userId only orders of this user, or null
+     * @param userEmail only orders placed with this email, or null
+     * @param status only orders in this status, or null
+     * @param cursor opaque cursor returned by the previous page, or null for the first page
+     * @param limit page size, clamped to MAX_PAGE_SIZE
+     * @return Map with items, nextCursor and hasMore
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getOrderPage(String userId, String userEmail, OrderStatus status,
+                                            String cursor, Integer limit) {
+        int filters = (userId != null ? 1 : 0) + (userEmail != null ? 1 : 0) + (status != null ? 1 : 0);
+        if (filters > 1) {
+            throw new IllegalArgumentException("Filter by only one of userId, userEmail or status");
+        }
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        // Fetch one extra row to know whether another page exists
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<Order> orders;
+        if (cursor == null || cursor.isBlank()) {
+            if (userId != null) {
+                orders = orderRepository.findFirstPageByUserId(userId, pageable);
+            } else if (userEmail != null) {
+                orders = orderRepository.findFirstPageByUserEmail(userEmail, pageable);
+            } else if (status != null) {
+                orders = orderRepository.findFirstPageByOrderStatus(status, pageable);
+            } else {
+                orders = orderRepository.findFirstPage(pageable);
+            }
+        } else {
+            LocalDateTime createdAt;
+            Long lastId;
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                createdAt = LocalDateTime.parse(raw.substring(0, separator));
+                lastId = Long.valueOf(raw.substring(separator + 1));
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+            if (userId != null) {
+                orders = orderRepository.findPageByUserIdAfterCursor(userId, createdAt, lastId, pageable);
+            } else if (userEmail != null) {
+                orders = orderRepository.findPageByUserEmailAfterCursor(userEmail, createdAt, lastId, pageable);
+            } else if (status != null) {
+                orders = orderRepository.findPageByOrderStatusAfterCursor(status, createdAt, lastId, pageable);
+            } else {
+                orders = orderRepository.findPageAfterCursor(createdAt, lastId, pageable);
+            }
+        }
+
+        boolean hasMore = orders.size() > pageSize;
+        if (hasMore) {
+            orders = orders.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Order last = orders.get(orders.size() - 1);
+            String raw = last.getCreatedAt() + "|" + last.getId();
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        Map<String, Object> page = new HashMap<>();
+        page.put("items", orders);
+        page.put("limit", pageSize);
+        page.put("hasMore", hasMore);
+        page.put("nextCursor", nextCursor);
+        return page;
+    }
+}
@@ -0,0 +1,320 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.Order;
+import com.ecobazaar.backend.entity.OrderRevenueRollup;
+import com.ecobazaar.backend.entity.OrderStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Order Revenue Rollup Service
+ *
+ * Maintains order_revenue_rollups, one row per (granularity, bucket, status,
+ * currency) with the revenue and count of the orders created in that hour or
+ * day, so revenue dashboards read a few hundred rollup rows instead of
+ * summing the orders table. Order writers apply deltas with a batched upsert:
+ * +1 on create, and a move from the old to the new status on a status change.
+ * A backfill rebuilds any date range from orders, and a nightly job rebuilds
+ * the last few days to correct drift.
+ *
+ * Revenue is the order's final amount; an order's bucket is the time it was created.
+ */
+@Service
+public class OrderRevenueRollupService {
+
+    public static final String DEFAULT_CURRENCY = "INR";
+    public static final int DEFAULT_RANGE_DAYS = 30;
+    public static final int MAX_HOURLY_RANGE_DAYS = 92;
+    public static final int MAX_DAILY_RANGE_DAYS = 1830;
+
+    // Days rebuilt per backfill transaction
+    private static final int BACKFILL_WINDOW_DAYS = 31;
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO order_revenue_rollups (granularity, bucket_start, order_status, currency, revenue, order_count, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+        "revenue = revenue + VALUES(revenue), order_count = order_count + VALUES(order_count), " +
+        "updated_at = VALUES(updated_at)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderRevenueRollupService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Add a newly saved order to its hour and day buckets
+     */
+    public void orderCreated(Order order) {
+        List<Object[]> batch = new ArrayList<>();
+        addDelta(batch, order, statusName(order.getOrderStatus()), 1);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+    }
+
+    /**
+     * Move a saved order from its previous status to its current one
+     */
+    public void orderStatusChanged(Order order, OrderStatus previousStatus) {
+        if (previousStatus == order.getOrderStatus()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>();
+        addDelta(batch, order, statusName(previousStatus), -1);
+        addDelta(batch, order, statusName(order.getOrderStatus()), 1);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+    }
+
+    /**
+     * Take a deleted order out of its buckets
+     */
+    public void orderDeleted(Order order) {
+        List<Object[]> batch = new ArrayList<>();
+        addDelta(batch, order, statusName(order.getOrderStatus()), -1);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+    }
+
+    /**
+     * Hourly or daily revenue series of one currency, with zero points for empty buckets
+     *
+     * @param granularity HOUR or DAY
+     * @param from first day, defaults to DEFAULT_RANGE_DAYS before to
+     * @param to last day (inclusive), defaults to today
+     * @param status only orders in this status, or null for every status except CANCELLED
+     * @param currency currency of the orders, defaults to INR
+     * @return Map with granularity, from, to, status, currency, totals, byStatus and series
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getSeries(String granularity, LocalDate from, LocalDate to,
+                                         OrderStatus status, String currency) {
+        String unit = granularity != null ? granularity.toUpperCase() : OrderRevenueRollup.DAY;
+        if (!OrderRevenueRollup.HOUR.equals(unit) && !OrderRevenueRollup.DAY.equals(unit)) {
+            throw new IllegalArgumentException("granularity must be HOUR or DAY");
+        }
+        boolean hourly = OrderRevenueRollup.HOUR.equals(unit);
+        int maxDays = hourly ? MAX_HOURLY_RANGE_DAYS : MAX_DAILY_RANGE_DAYS;
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) >= maxDays) {
+            throw new IllegalArgumentException("Date range must be ordered and at most " + maxDays + " days for " + unit);
+        }
+        String currencyCode = currency != null && !currency.isBlank() ? currency.toUpperCase() : DEFAULT_CURRENCY;
+
+        // Reads only rollup rows: at most one per bucket, status and currency
+        Map<LocalDateTime, double[]> buckets = new HashMap<>();
+        Map<String, double[]> byStatus = new TreeMap<>();
+        jdbcTemplate.query(
+            "SELECT bucket_start, order_status, revenue, order_count FROM order_revenue_rollups " +
+            "WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ? AND currency = ?",
+            rs -> {
+                String rowStatus = rs.getString("order_status");
+                double revenue = rs.getDouble("revenue");
+                long orders = rs.getLong("order_count");
+                double[] statusSum = byStatus.computeIfAbsent(rowStatus, k -> new double[2]);
+                statusSum[0] += revenue;
+                statusSum[1] += orders;
+                boolean included = status != null
+                    ? status.name().equals(rowStatus)
+                    : !OrderStatus.CANCELLED.name().equals(rowStatus);
+                if (included) {
+                    double[] sum = buckets.computeIfAbsent(rs.getTimestamp("bucket_start").toLocalDateTime(),
+                        k -> new double[2]);
+                    sum[0] += revenue;
+                    sum[1] += orders;
+                }
+            },
+            unit, Timestamp.valueOf(start.atStartOfDay()), Timestamp.valueOf(end.plusDays(1).atStartOfDay()),
+            currencyCode);
+
+        List<Map<String, Object>> series = new ArrayList<>();
+        double totalRevenue = 0;
+        long totalOrders = 0;
+        LocalDateTime last = end.plusDays(1).atStartOfDay();
+        for (LocalDateTime bucket = start.atStartOfDay(); bucket.isBefore(last);
+             bucket = hourly ? bucket.plusHours(1) : bucket.plusDays(1)) {
+            double[] sum = buckets.get(bucket);
+            double revenue = sum != null ? sum[0] : 0.0;
+            long orders = sum != null ? (long) sum[1] : 0L;
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("bucket", hourly ? bucket.toString() : bucket.toLocalDate().toString());
+            point.put("revenue", round(revenue));
+            point.put("orders", orders);
+            series.add(point);
+            totalRevenue += revenue;
+            totalOrders += orders;
+        }
+
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("revenue", round(totalRevenue));
+        totals.put("orders", totalOrders);
+
+        Map<String, Object> statusTotals = new LinkedHashMap<>();
+        byStatus.forEach((name, sum) -> {
+            if (sum[1] == 0) {
+                return;
+            }
+            Map<String, Object> total = new LinkedHashMap<>();
+            total.put("revenue", round(sum[0]));
+            total.put("orders", (long) sum[1]);
+            statusTotals.put(name, total);
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("granularity", unit);
+        result.put("from", start.toString());
+        result.put("to", end.toString());
+        result.put("status", status != null ? status.name() : null);
+        result.put("currency", currencyCode);
+        result.put("totals", totals);
+        result.put("byStatus", statusTotals);
+        result.put("series", series);
+        return result;
+    }
+
+    /**
+     * Rebuild both granularities for a date range from orders, one transaction per window
+     *
+     * @param from first day, or null for the first day with orders
+     * @param to last day, or null for today
+     * @return Map with from, to, orders, rows and tookMs
+     */
+    public Map<String, Object> backfill(LocalDate from, LocalDate to) {
+        long start = System.currentTimeMillis();
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate first = from;
+        if (first == null) {
+            Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(created_at) FROM (SELECT MIN(created_at) AS created_at FROM orders " +
+                "UNION ALL SELECT MIN(created_at) FROM orders_archive) oldest", Timestamp.class);
+            first = oldest != null ? oldest.toLocalDateTime().toLocalDate() : end;
+        }
+
+        long orders = 0;
+        int rows = 0;
+        for (LocalDate windowStart = first; !windowStart.isAfter(end);
+             windowStart = windowStart.plusDays(BACKFILL_WINDOW_DAYS)) {
+            LocalDate windowEnd = windowStart.plusDays(BACKFILL_WINDOW_DAYS - 1);
+            LocalDateTime rangeStart = windowStart.atStartOfDay();
+            LocalDateTime rangeEnd = (windowEnd.isAfter(end) ? end : windowEnd).plusDays(1).atStartOfDay();
+            long[] written = transactionTemplate.execute(status -> rebuildWindow(rangeStart, rangeEnd));
+            if (written != null) {
+                orders += written[0];
+                rows += (int) written[1];
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", first.toString());
+        result.put("to", end.toString());
+        result.put("orders", orders);
+        result.put("rows", rows);
+        result.put("tookMs", System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * Nightly: rebuild the last few days to correct any drift
+     */
+    @Scheduled(cron = "${orders.revenue.rebuild-cron:0 45 2 * * *}")
+    public void rebuildRecentDays() {
+        try {
+            Map<String, Object> result = backfill(LocalDate.now().minusDays(2), LocalDate.now());
+            System.out.println("Order revenue rollup rebuilt: " + result);
+        } catch (Exception e) {
+            System.err.println("Error rebuilding order revenue rollup: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replace the rollup rows of [rangeStart, rangeEnd) with sums over the orders (live and archived) created in it.
+     * Hour buckets are computed here rather than in SQL, which has no portable hour truncation.
+     *
+     * @return number of orders read and rows written
+     */
+    private long[] rebuildWindow(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        jdbcTemplate.update("DELETE FROM order_revenue_rollups WHERE bucket_start >= ? AND bucket_start < ?",
+            Timestamp.valueOf(rangeStart), Timestamp.valueOf(rangeEnd));
+
+        Map<List<Object>, double[]> sums = new LinkedHashMap<>();
+        long[] read = new long[1];
+        jdbcTemplate.query(
+            "SELECT created_at, order_status, currency, final_amount FROM orders WHERE created_at >= ? AND created_at < ? " +
+            "UNION ALL SELECT created_at, order_status, currency, final_amount FROM orders_archive " +
+            "WHERE created_at >= ? AND created_at < ?",
+            rs -> {
+                LocalDateTime createdAt = rs.getTimestamp("created_at").toLocalDateTime();
+                String status = rs.getString("order_status");
+                String currency = currencyOf(rs.getString("currency"));
+                double amount = rs.getDouble("final_amount");
+                for (Object[] bucket : buckets(createdAt)) {
+                    double[] sum = sums.computeIfAbsent(List.of(bucket[0], bucket[1], status, currency),
+                        k -> new double[2]);
+                    sum[0] += amount;
+                    sum[1]++;
+                }
+                read[0]++;
+            },
+            Timestamp.valueOf(rangeStart), Timestamp.valueOf(rangeEnd), Timestamp.valueOf(rangeStart), Timestamp.valueOf(rangeEnd));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(sums.size());
+        sums.forEach((key, sum) -> batch.add(new Object[] {
+            key.get(0), Timestamp.valueOf((LocalDateTime) key.get(1)), key.get(2), key.get(3),
+            sum[0], (long) sum[1], now
+        }));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+        return new long[] { read[0], batch.size() };
+    }
+
+    /**
+     * Queue the order's contribution (sign +1 or -1) to its hour and day buckets under a status
+     */
+    private void addDelta(List<Object[]> batch, Order order, String status, int sign) {
+        LocalDateTime createdAt = order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now();
+        double amount = order.getFinalAmount() != null ? order.getFinalAmount() : 0.0;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Object[] bucket : buckets(createdAt)) {
+            batch.add(new Object[] {
+                bucket[0], Timestamp.valueOf((LocalDateTime) bucket[1]), status, currencyOf(order.getCurrency()),
+                sign * amount, (long) sign, now
+            });
+        }
+    }
+
+    private static Object[][] buckets(LocalDateTime createdAt) {
+        return new Object[][] {
+            { OrderRevenueRollup.HOUR, createdAt.truncatedTo(ChronoUnit.HOURS) },
+            { OrderRevenueRollup.DAY, createdAt.toLocalDate().atStartOfDay() }
+        };
+    }
+
+    private static String statusName(OrderStatus status) {
+        return (status != null ? status : OrderStatus.PENDING).name();
+    }
+
+    private static String currencyOf(String currency) {
+        return currency != null && !currency.isBlank() ? currency.toUpperCase() : DEFAULT_CURRENCY;
+    }
+
+    private static double round(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
+}
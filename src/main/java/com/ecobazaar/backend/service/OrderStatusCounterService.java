@@ -0,0 +1,198 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.OrderStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Order Status Counter Service
+ *
+ * Keeps the number of orders per status in memory, so the order stats
+ * endpoint and the orders.status gauges on /actuator/metrics never query the
+ * orders table. Order writers report creations, transitions and deletions as
+ * deltas after their change is committed; a scheduled reconciliation recounts
+ * the orders and orders_archive tables with one GROUP BY each to correct any
+ * drift, so archiving does not change the counts.
+ *
+ * The recount runs without holding the counters' lock, so deltas keep flowing
+ * during the scans. Deltas that arrive meanwhile are also recorded on the side
+ * and added to the recount when it is applied, since the scans may not have
+ * seen those changes yet.
+ */
+@Service
+public class OrderStatusCounterService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Deltas share the read lock (adders are thread-safe); reconciliation takes the write lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<OrderStatus, LongAdder> counters = new EnumMap<>(OrderStatus.class);
+
+    // Deltas that arrived while a recount was running; null when none is
+    private Map<OrderStatus, LongAdder> pendingDeltas;
+
+    public OrderStatusCounterService() {
+        for (OrderStatus status : OrderStatus.values()) {
+            counters.put(status, new LongAdder());
+        }
+    }
+
+    @PostConstruct
+    public void registerGauges() {
+        counters.forEach((status, counter) -> Gauge.builder("orders.status", counter, LongAdder::sum)
+            .description("Orders currently in the status")
+            .tag("status", status.name())
+            .register(meterRegistry));
+        Gauge.builder("orders.total", this, OrderStatusCounterService::getTotal)
+            .description("Orders in any status")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Count the orders once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    /**
+     * Count a newly created order
+     */
+    public void orderCreated(OrderStatus status) {
+        orderStatusChanged(null, status);
+    }
+
+    /**
+     * Move an order from its previous status to its new one
+     */
+    public void orderStatusChanged(OrderStatus previousStatus, OrderStatus status) {
+        if (previousStatus == status) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            Map<OrderStatus, LongAdder> pending = pendingDeltas;
+            if (previousStatus != null) {
+                counters.get(previousStatus).decrement();
+                if (pending != null) {
+                    pending.get(previousStatus).decrement();
+                }
+            }
+            if (status != null) {
+                counters.get(status).increment();
+                if (pending != null) {
+                    pending.get(status).increment();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Uncount a deleted order
+     */
+    public void orderDeleted(OrderStatus status) {
+        orderStatusChanged(status, null);
+    }
+
+    public long getCount(OrderStatus status) {
+        return counters.get(status).sum();
+    }
+
+    public long getTotal() {
+        long total = 0;
+        for (LongAdder counter : counters.values()) {
+            total += counter.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Count of every status, in declaration order
+     */
+    public Map<String, Long> getCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counters.forEach((status, counter) -> counts.put(status.name(), counter.sum()));
+        return counts;
+    }
+
+    /**
+     * Recount the orders per status and reset the in-memory counters to the
+     * result plus the deltas reported while the recount ran
+     */
+    @Scheduled(cron = "${orders.counters.reconcile-cron:0 */10 * * * *}")
+    public synchronized void reconcile() {
+        try {
+            long start = System.currentTimeMillis();
+            Map<OrderStatus, LongAdder> pending = new EnumMap<>(OrderStatus.class);
+            for (OrderStatus status : OrderStatus.values()) {
+                pending.put(status, new LongAdder());
+            }
+            lock.writeLock().lock();
+            try {
+                pendingDeltas = pending;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                Map<OrderStatus, Long> fresh = countOrders();
+                lock.writeLock().lock();
+                try {
+                    counters.forEach((status, counter) -> {
+                        counter.reset();
+                        counter.add(fresh.getOrDefault(status, 0L) + pending.get(status).sum());
+                    });
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    pendingDeltas = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            System.out.println("Order status counters reconciled (" + getTotal() + " orders) in "
+                + (System.currentTimeMillis() - start) + " ms");
+        } catch (Exception e) {
+            System.err.println("Error reconciling order status counters: " + e.getMessage());
+        }
+    }
+
+    private Map<OrderStatus, Long> countOrders() {
+        Map<OrderStatus, Long> fresh = new EnumMap<>(OrderStatus.class);
+        for (String table : List.of("orders", "orders_archive")) {
+            jdbcTemplate.query("SELECT order_status, COUNT(*) AS orders FROM " + table + " GROUP BY order_status",
+                row -> {
+                    for (OrderStatus status : OrderStatus.values()) {
+                        if (status.name().equals(row.getString("order_status"))) {
+                            fresh.merge(status, row.getLong("orders"), Long::sum);
+                        }
+                    }
+                });
+        }
+        return fresh;
+    }
+}
@@ -0,0 +1,240 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.Product;
+import com.ecobazaar.backend.model.ProductBulkUpdate;
+import com.ecobazaar.backend.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Product Bulk Update Service
+ *
+ * Applies price / quantity / isActive changes for many products at once.
+ * Each chunk of updates becomes a single UPDATE ... SET col = CASE id ... END
+ * WHERE id IN (...) statement, and all chunks run in one transaction, instead
+ * of a findById + full-row save per product.
+ */
+@Service
+public class ProductBulkUpdateService {
+
+    public static final int MAX_UPDATES = 50000;
+
+    // Products per UPDATE statement (3 CASE branches + 1 IN entry per product at most)
+    private static final int CHUNK_SIZE = 500;
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductFacetService productFacetService;
+
+    @Autowired
+    private LowStockService lowStockService;
+
+    @Autowired
+    private StoreCounterService storeCounterService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductBulkUpdateService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Apply a list of updates. Invalid entries are skipped and reported; if the
+     * same product appears more than once, later non-null fields win.
+     *
+     * @return Map with requested, updated, notFound, failed, errors and tookMs
+     */
+    public Map<String, Object> applyUpdates(List<ProductBulkUpdate> updates) {
+        long start = System.currentTimeMillis();
+        List<Map<String, Object>> errors = new ArrayList<>();
+        int failed = 0;
+
+        Map<Long, ProductBulkUpdate> merged = new LinkedHashMap<>();
+        for (int i = 0; i < updates.size(); i++) {
+            ProductBulkUpdate update = updates.get(i);
+            String error = validate(update);
+            if (error != null) {
+                failed++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("index", i);
+                    entry.put("productId", update != null ? update.getProductId() : null);
+                    entry.put("message", error);
+                    errors.add(entry);
+                }
+                continue;
+            }
+            merged.merge(update.getProductId(), update, ProductBulkUpdateService::mergeUpdates);
+        }
+
+        List<ProductBulkUpdate> pending = new ArrayList<>(merged.values());
+        // storeId, previous isActive, new isActive of products whose active flag flips
+        List<Object[]> activeChanges = new ArrayList<>();
+        // Quantities are absolute, so leased units of those products are returned before they are written
+        List<Long> stockIds = new ArrayList<>();
+        for (ProductBulkUpdate update : pending) {
+            if (update.getQuantity() != null) {
+                stockIds.add(update.getProductId());
+            }
+        }
+        Integer updated = pending.isEmpty() ? Integer.valueOf(0) : inventoryService.overwriteStock(stockIds, () ->
+            transactionTemplate.execute(status -> {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                int rows = 0;
+                for (int from = 0; from < pending.size(); from += CHUNK_SIZE) {
+                    List<ProductBulkUpdate> chunk = pending.subList(from, Math.min(from + CHUNK_SIZE, pending.size()));
+                    collectActiveChanges(chunk, activeChanges);
+                    rows += updateChunk(chunk, now);
+                }
+                return rows;
+            }));
+
+        if (updated != null && updated > 0) {
+            for (Object[] change : activeChanges) {
+                storeCounterService.productChanged((String) change[0], (Boolean) change[1],
+                                                   (String) change[0], (Boolean) change[2]);
+            }
+            refreshIndexes(new ArrayList<>(merged.keySet()));
+            resourceVersionService.bump(ResourceVersionService.PRODUCTS);
+        }
+
+        int updatedRows = updated != null ? updated : 0;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("success", failed == 0);
+        result.put("requested", updates.size());
+        result.put("updated", updatedRows);
+        result.put("notFound", pending.size() - updatedRows);
+        result.put("failed", failed);
+        result.put("errors", errors);
+        result.put("tookMs", System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * One UPDATE for a chunk; columns nobody in the chunk changes are left out
+     *
+     * @return number of matched rows
+     */
+    private int updateChunk(List<ProductBulkUpdate> chunk, Timestamp now) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("UPDATE products SET ");
+        appendCase(sql, params, chunk, "price", ProductBulkUpdate::getPrice);
+        appendCase(sql, params, chunk, "quantity", ProductBulkUpdate::getQuantity);
+        appendCase(sql, params, chunk, "is_active", ProductBulkUpdate::getIsActive);
+        sql.append("updated_at = ? WHERE id IN (");
+        params.add(now);
+        sql.append(String.join(",", Collections.nCopies(chunk.size(), "?")));
+        sql.append(")");
+        chunk.forEach(update -> params.add(update.getProductId()));
+        return jdbcTemplate.update(sql.toString(), params.toArray());
+    }
+
+    /**
+     * Read the current store and active flag of products whose isActive is being set,
+     * so the store counters can be adjusted after commit
+     */
+    private void collectActiveChanges(List<ProductBulkUpdate> chunk, List<Object[]> activeChanges) {
+        Map<Long, Boolean> requested = new HashMap<>();
+        for (ProductBulkUpdate update : chunk) {
+            if (update.getIsActive() != null) {
+                requested.put(update.getProductId(), update.getIsActive());
+            }
+        }
+        if (requested.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(",", Collections.nCopies(requested.size(), "?"));
+        jdbcTemplate.query("SELECT id, store_id, is_active FROM products WHERE id IN (" + placeholders + ")",
+            row -> {
+                boolean wasActive = !Boolean.FALSE.equals(row.getObject("is_active", Boolean.class));
+                Boolean active = requested.get(row.getLong("id"));
+                if (wasActive != active) {
+                    activeChanges.add(new Object[] { row.getString("store_id"), wasActive, active });
+                }
+            },
+            requested.keySet().toArray());
+    }
+
+    private void appendCase(StringBuilder sql, List<Object> params, List<ProductBulkUpdate> chunk,
+                            String column, Function<ProductBulkUpdate, Object> field) {
+        StringBuilder branches = new StringBuilder();
+        for (ProductBulkUpdate update : chunk) {
+            Object value = field.apply(update);
+            if (value != null) {
+                branches.append(" WHEN ? THEN ?");
+                params.add(update.getProductId());
+                params.add(value);
+            }
+        }
+        if (branches.length() > 0) {
+            sql.append(column).append(" = CASE id").append(branches).append(" ELSE ").append(column).append(" END, ");
+        }
+    }
+
+    /**
+     * Reload the changed products once and push them into the in-memory indexes and the low stock tracker
+     */
+    private void refreshIndexes(List<Long> productIds) {
+        for (int from = 0; from < productIds.size(); from += CHUNK_SIZE) {
+            List<Product> products = productRepository.findAllById(
+                productIds.subList(from, Math.min(from + CHUNK_SIZE, productIds.size())));
+            productSearchService.indexProducts(products);
+            productFacetService.indexProducts(products);
+            lowStockService.trackProducts(products);
+        }
+    }
+
+    private static String validate(ProductBulkUpdate update) {
+        if (update == null || update.getProductId() == null) {
+            return "productId is required";
+        }
+        if (update.getPrice() == null && update.getQuantity() == null && update.getIsActive() == null) {
+            return "Nothing to update";
+        }
+        if (update.getPrice() != null && update.getPrice() <= 0) {
+            return "Valid price is required";
+        }
+        if (update.getQuantity() != null && update.getQuantity() < 0) {
+            return "Quantity cannot be negative";
+        }
+        return null;
+    }
+
+    private static ProductBulkUpdate mergeUpdates(ProductBulkUpdate earlier, ProductBulkUpdate later) {
+        return new ProductBulkUpdate(
+            earlier.getProductId(),
+            later.getPrice() != null ? later.getPrice() : earlier.getPrice(),
+            later.getQuantity() != null ? later.getQuantity() : earlier.getQuantity(),
+            later.getIsActive() != null ? later.getIsActive() : earlier.getIsActive()
+        );
+    }
+}
@@ -0,0 +1,173 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.Product;
+import com.ecobazaar.backend.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Product Catalog Service
+ *
+ * Serves the product catalog without materializing the whole table:
+ * keyset (cursor) pages ordered by (createdAt, id) or (price, id), and a
+ * streaming mode that writes the JSON array row by row.
+ */
+@Service
+public class ProductCatalogService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Flush the response every N rows instead of after every row
+    private static final int STREAM_FLUSH_INTERVAL = 500;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Give rows created before created_at was always set a value, so the
+     * (createdAt, id) keyset neither skips them nor hands out a "null" cursor
+     */
+    @PostConstruct
+    public void backfillCreatedAt() {
+        try {
+            int updated = jdbcTemplate.update(
+                "UPDATE products SET created_at = COALESCE(updated_at, CURRENT_TIMESTAMP) WHERE created_at IS NULL");
+            if (updated > 0) {
+                System.out.println("Backfilled created_at of " + updated + " products");
+            }
+        } catch (Exception e) {
+            System.err.println("Error backfilling product created_at: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get one keyset page of products
+     *
+     * @param sort "createdAt" (newest first) or "price" (cheapest first)
+     * @param cursor opaque cursor returned by the previous page, or null for the first page
+     * @param limit page size, clamped to MAX_PAGE_SIZE
+     * @return Map with items, nextCursor and hasMore
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getProductPage(String sort, String cursor, Integer limit) {
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        // Fetch one extra row to know whether another page exists
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        boolean byPrice = "price".equalsIgnoreCase(sort);
+
+        List<Product> products;
+        if (cursor == null || cursor.isBlank()) {
+            products = byPrice
+                ? productRepository.findFirstPageByPrice(pageable)
+                : productRepository.findFirstPageByCreatedAt(pageable);
+        } else {
+            String[] parts = decodeCursor(cursor);
+            try {
+                Long lastId = Long.parseLong(parts[1]);
+                products = byPrice
+                    ? productRepository.findPageByPriceAfterCursor(Double.parseDouble(parts[0]), lastId, pageable)
+                    : productRepository.findPageByCreatedAtAfterCursor(LocalDateTime.parse(parts[0]), lastId, pageable);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+
+        boolean hasMore = products.size() > pageSize;
+        if (hasMore) {
+            products = products.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Product last = products.get(products.size() - 1);
+            nextCursor = encodeCursor(byPrice ? String.valueOf(last.getPrice()) : String.valueOf(last.getCreatedAt()),
+                                      last.getId());
+        }
+
+        Map<String, Object> page = new HashMap<>();
+        page.put("items", products);
+        page.put("sort", byPrice ? "price" : "createdAt");
+        page.put("limit", pageSize);
+        page.put("hasMore", hasMore);
+        page.put("nextCursor", nextCursor);
+        return page;
+    }
+
+    /**
+     * Write every product as a JSON array directly to the output stream.
+     * Rows come from a forward-only cursor and are detached once written,
+     * so heap use does not depend on the catalog size.
+     *
+     * @param outputStream response body stream
+     */
+    @Transactional(readOnly = true)
+    public void streamAllProducts(OutputStream outputStream) throws IOException {
+        ObjectWriter productWriter = objectMapper.writerFor(Product.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (Stream<Product> products = productRepository.streamAllProducts()) {
+            generator.writeStartArray();
+            int written = 0;
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                productWriter.writeValue(generator, product);
+                entityManager.detach(product);
+                if (++written % STREAM_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        } finally {
+            generator.close();
+        }
+    }
+
+    private String encodeCursor(String sortValue, Long id) {
+        String raw = sortValue + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = raw.lastIndexOf('|');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new String[] { raw.substring(0, separator), raw.substring(separator + 1) };
+    }
+}
@@ -0,0 +1,316 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.Product;
+import com.ecobazaar.backend.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Product Facet Service
+ *
+ * Keeps one bitmap per facet value over product ordinals (dense integers
+ * assigned to active products). A filter combination is a series of bitmap
+ * ORs (within a facet) and ANDs (across facets), and facet counts are bitmap
+ * intersections, so the storefront filters never touch MySQL.
+ *
+ * Ordinals of deleted products are reused, which keeps the bitmaps dense.
+ */
+@Service
+public class ProductFacetService {
+
+    public static final String CATEGORY = "category";
+    public static final String PRICE_BAND = "priceBand";
+    public static final String IN_STOCK = "inStock";
+    public static final String CARBON_BAND = "carbonBand";
+    public static final String ECO_POINTS_BAND = "ecoPointsBand";
+
+    public static final List<String> FACETS = List.of(CATEGORY, PRICE_BAND, IN_STOCK, CARBON_BAND, ECO_POINTS_BAND);
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // productId -> ordinal
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+
+    // ordinal -> product snapshot and its facet values (null when the ordinal is free)
+    private final List<Product> products = new ArrayList<>();
+    private final List<String[]> productFacetValues = new ArrayList<>();
+
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+
+    // Ordinals currently holding an indexed product
+    private final BitSet live = new BitSet();
+
+    // facet -> value -> bitmap of ordinals
+    private final Map<String, Map<String, BitSet>> bitmaps = new LinkedHashMap<>();
+
+    public ProductFacetService() {
+        for (String facet : FACETS) {
+            bitmaps.put(facet, new TreeMap<>());
+        }
+    }
+
+    /**
+     * Rebuild all bitmaps from the database once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        try {
+            long start = System.currentTimeMillis();
+            lock.writeLock().lock();
+            try {
+                ordinals.clear();
+                products.clear();
+                productFacetValues.clear();
+                freeOrdinals.clear();
+                live.clear();
+                bitmaps.values().forEach(Map::clear);
+                try (Stream<Product> stream = productRepository.streamAllProducts()) {
+                    stream.forEach(this::addToIndex);
+                }
+                System.out.println("Product facet index built: " + live.cardinality() + " products in "
+                    + (System.currentTimeMillis() - start) + " ms");
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (Exception e) {
+            System.err.println("Error building product facet index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Add or replace a product; inactive products are dropped from the facets
+     */
+    public void indexProduct(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeFromIndex(product.getId());
+            addToIndex(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace several products under a single lock
+     */
+    public void indexProducts(Collection<Product> productsToIndex) {
+        lock.writeLock().lock();
+        try {
+            for (Product product : productsToIndex) {
+                if (product != null && product.getId() != null) {
+                    removeFromIndex(product.getId());
+                    addToIndex(product);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a product from the facets
+     */
+    public void removeProduct(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeFromIndex(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Filter products and count every facet value in one pass.
+     * Values of the same facet are ORed, different facets are ANDed. Counts for
+     * a facet ignore that facet's own filter so the storefront can show how many
+     * products each alternative value would give.
+     *
+     * @param filters facet -> selected values (unknown facets are ignored)
+     * @param offset index of the first product to return
+     * @param limit maximum number of products to return
+     * @return Map with total, facets (value counts), items and tookMicros
+     */
+    public Map<String, Object> search(Map<String, List<String>> filters, Integer offset, Integer limit) {
+        long start = System.nanoTime();
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        int skip = offset == null || offset < 0 ? 0 : offset;
+
+        lock.readLock().lock();
+        try {
+            // One ORed bitmap per filtered facet
+            Map<String, BitSet> facetMatches = new LinkedHashMap<>();
+            for (String facet : FACETS) {
+                List<String> values = filters.get(facet);
+                if (values == null || values.isEmpty()) {
+                    continue;
+                }
+                BitSet union = new BitSet();
+                for (String value : values) {
+                    BitSet bitmap = bitmaps.get(facet).get(value);
+                    if (bitmap != null) {
+                        union.or(bitmap);
+                    }
+                }
+                facetMatches.put(facet, union);
+            }
+
+            BitSet matches = (BitSet) live.clone();
+            facetMatches.values().forEach(matches::and);
+
+            Map<String, Map<String, Integer>> facetCounts = new LinkedHashMap<>();
+            BitSet scratch = new BitSet(products.size());
+            for (String facet : FACETS) {
+                BitSet base = matches;
+                if (facetMatches.containsKey(facet)) {
+                    base = (BitSet) live.clone();
+                    for (Map.Entry<String, BitSet> other : facetMatches.entrySet()) {
+                        if (!other.getKey().equals(facet)) {
+                            base.and(other.getValue());
+                        }
+                    }
+                }
+                Map<String, Integer> counts = new LinkedHashMap<>();
+                for (Map.Entry<String, BitSet> value : bitmaps.get(facet).entrySet()) {
+                    scratch.clear();
+                    scratch.or(value.getValue());
+                    scratch.and(base);
+                    int count = scratch.cardinality();
+                    if (count > 0) {
+                        counts.put(value.getKey(), count);
+                    }
+                }
+                facetCounts.put(facet, counts);
+            }
+
+            List<Product> items = new ArrayList<>();
+            int position = 0;
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0 && items.size() < pageSize;
+                 ordinal = matches.nextSetBit(ordinal + 1)) {
+                if (position++ >= skip) {
+                    items.add(products.get(ordinal));
+                }
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("total", matches.cardinality());
+            result.put("offset", skip);
+            result.put("limit", pageSize);
+            result.put("facets", facetCounts);
+            result.put("items", items);
+            result.put("tookMicros", (System.nanoTime() - start) / 1000);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addToIndex(Product product) {
+        if (Boolean.FALSE.equals(product.getIsActive())) {
+            return;
+        }
+        int ordinal;
+        if (freeOrdinals.isEmpty()) {
+            ordinal = products.size();
+            products.add(product);
+            productFacetValues.add(null);
+        } else {
+            ordinal = freeOrdinals.pop();
+            products.set(ordinal, product);
+        }
+
+        String[] values = facetValues(product);
+        for (int i = 0; i < FACETS.size(); i++) {
+            bitmaps.get(FACETS.get(i)).computeIfAbsent(values[i], value -> new BitSet()).set(ordinal);
+        }
+        productFacetValues.set(ordinal, values);
+        ordinals.put(product.getId(), ordinal);
+        live.set(ordinal);
+    }
+
+    private void removeFromIndex(Long productId) {
+        Integer ordinal = ordinals.remove(productId);
+        if (ordinal == null) {
+            return;
+        }
+        String[] values = productFacetValues.get(ordinal);
+        for (int i = 0; i < FACETS.size(); i++) {
+            Map<String, BitSet> facet = bitmaps.get(FACETS.get(i));
+            BitSet bitmap = facet.get(values[i]);
+            if (bitmap != null) {
+                bitmap.clear(ordinal);
+                if (bitmap.isEmpty()) {
+                    facet.remove(values[i]);
+                }
+            }
+        }
+        products.set(ordinal, null);
+        productFacetValues.set(ordinal, null);
+        live.clear(ordinal);
+        freeOrdinals.push(ordinal);
+    }
+
+    /**
+     * Facet values of a product, in FACETS order
+     */
+    private static String[] facetValues(Product product) {
+        String category = product.getCategory() == null || product.getCategory().isBlank()
+            ? "General" : product.getCategory();
+        return new String[] {
+            category,
+            priceBand(product.getPrice()),
+            String.valueOf(product.getQuantity() != null && product.getQuantity() > 0),
+            carbonBand(product.getCarbonFootprint()),
+            ecoPointsBand(product.getEcoPoints())
+        };
+    }
+
+    private static String priceBand(Double price) {
+        if (price == null) return "unknown";
+        if (price < 10) return "0-10";
+        if (price < 25) return "10-25";
+        if (price < 50) return "25-50";
+        if (price < 100) return "50-100";
+        return "100+";
+    }
+
+    private static String carbonBand(Double carbonFootprint) {
+        if (carbonFootprint == null) return "unknown";
+        if (carbonFootprint < 1) return "low";
+        if (carbonFootprint < 5) return "medium";
+        return "high";
+    }
+
+    private static String ecoPointsBand(Integer ecoPoints) {
+        if (ecoPoints == null) return "unknown";
+        if (ecoPoints < 10) return "0-9";
+        if (ecoPoints < 50) return "10-49";
+        if (ecoPoints < 100) return "50-99";
+        return "100+";
+    }
+}
@@ -0,0 +1,398 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.Product;
+import com.ecobazaar.backend.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Product Import Service
+ *
+ * Imports product catalogs from CSV or NDJSON request bodies. Rows are parsed
+ * one at a time and written in chunks, each chunk in its own transaction
+ * (inserts are JDBC-batched), so memory use depends on the chunk size and not
+ * on the upload size. The request keeps one EntityManager open across the
+ * chunks (open-in-view), so each chunk is flushed and detached before its
+ * transaction commits; otherwise every imported row would stay managed until
+ * the request ends. Every rejected row is reported with its row number.
+ *
+ * The validation rules are shared with POST /api/products.
+ */
+@Service
+public class ProductImportService {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    // Rows per transaction; a multiple of hibernate.jdbc.batch_size
+    private static final int CHUNK_SIZE = 500;
+
+    // Keep the error report bounded for uploads that are wrong throughout
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    // Normalized CSV header -> setter
+    private static final Map<String, BiConsumer<Product, String>> CSV_COLUMNS = new HashMap<>();
+
+    static {
+        CSV_COLUMNS.put("name", Product::setName);
+        CSV_COLUMNS.put("description", Product::setDescription);
+        CSV_COLUMNS.put("price", (product, value) -> product.setPrice(Double.valueOf(value)));
+        CSV_COLUMNS.put("quantity", (product, value) -> product.setQuantity(Integer.valueOf(value)));
+        CSV_COLUMNS.put("category", Product::setCategory);
+        CSV_COLUMNS.put("icon", Product::setIcon);
+        CSV_COLUMNS.put("color", Product::setColor);
+        CSV_COLUMNS.put("imageurl", Product::setImageUrl);
+        CSV_COLUMNS.put("storeid", Product::setStoreId);
+        CSV_COLUMNS.put("storename", Product::setStoreName);
+        CSV_COLUMNS.put("isactive", (product, value) -> product.setIsActive(Boolean.valueOf(value)));
+        CSV_COLUMNS.put("carbonfootprint", (product, value) -> product.setCarbonFootprint(Double.valueOf(value)));
+        CSV_COLUMNS.put("ecopoints", (product, value) -> product.setEcoPoints(Integer.valueOf(value)));
+    }
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductFacetService productFacetService;
+
+    @Autowired
+    private LowStockService lowStockService;
+
+    @Autowired
+    private StoreCounterService storeCounterService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductImportService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Check the fields every product must have
+     *
+     * @return error message, or null if the product is valid
+     */
+    public String validateProduct(Product product) {
+        if (product.getName() == null || product.getName().trim().isEmpty()) {
+            return "Product name is required";
+        }
+        if (product.getPrice() == null || product.getPrice() <= 0) {
+            return "Valid price is required";
+        }
+        if (product.getStoreId() == null || product.getStoreId().trim().isEmpty()) {
+            return "Store ID is required";
+        }
+        return null;
+    }
+
+    /**
+     * Fill in default values for optional fields
+     */
+    public void applyDefaults(Product product) {
+        if (product.getQuantity() == null) {
+            product.setQuantity(0);
+        }
+        if (product.getCategory() == null || product.getCategory().trim().isEmpty()) {
+            product.setCategory("General");
+        }
+        if (product.getImageUrl() == null) {
+            product.setImageUrl("");
+        }
+    }
+
+    /**
+     * Import products from a CSV (with header row) or NDJSON stream
+     *
+     * @param inputStream request body
+     * @param format "csv" or "ndjson"
+     * @return Map with totalRows, imported, failed, errors and tookMs
+     */
+    public Map<String, Object> importProducts(InputStream inputStream, String format) throws IOException {
+        long start = System.currentTimeMillis();
+        ImportReport report = new ImportReport();
+        List<PendingRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            RowReader rows = FORMAT_CSV.equals(format) ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+            PendingRow row;
+            while ((row = rows.next()) != null) {
+                report.totalRows++;
+                if (row.error == null) {
+                    row.error = validateProduct(row.product);
+                }
+                if (row.error != null) {
+                    report.addError(row.rowNumber, row.error);
+                    continue;
+                }
+                applyDefaults(row.product);
+                row.product.setId(null);
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    writeChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+            writeChunk(chunk, report);
+        } finally {
+            if (report.imported > 0) {
+                resourceVersionService.bump(ResourceVersionService.PRODUCTS);
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("success", report.failed == 0);
+        result.put("format", format);
+        result.put("totalRows", report.totalRows);
+        result.put("imported", report.imported);
+        result.put("failed", report.failed);
+        result.put("errors", report.errors);
+        result.put("errorsTruncated", report.failed > report.errors.size());
+        result.put("tookMs", System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * Insert one chunk in a single transaction. If the chunk is rejected by the
+     * database, retry its rows one by one so only the offending rows are reported.
+     */
+    private void writeChunk(List<PendingRow> chunk, ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Product> products = new ArrayList<>(chunk.size());
+        chunk.forEach(row -> products.add(row.product));
+        try {
+            List<Product> saved = transactionTemplate.execute(status -> detached(productRepository.saveAll(products)));
+            indexProducts(saved);
+            report.imported += saved.size();
+        } catch (Exception chunkError) {
+            for (PendingRow row : chunk) {
+                row.product.setId(null);
+                try {
+                    Product saved = transactionTemplate.execute(
+                        status -> detached(List.of(productRepository.save(row.product))).get(0));
+                    indexProducts(List.of(saved));
+                    report.imported++;
+                } catch (Exception rowError) {
+                    report.addError(row.rowNumber, "Error saving product: " + rowError.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the chunk now and drop it from the persistence context
+     */
+    private List<Product> detached(List<Product> saved) {
+        entityManager.flush();
+        entityManager.clear();
+        return saved;
+    }
+
+    private void indexProducts(List<Product> saved) {
+        productSearchService.indexProducts(saved);
+        productFacetService.indexProducts(saved);
+        lowStockService.trackProducts(saved);
+        storeCounterService.productsAdded(saved);
+    }
+
+    private static String normalizeHeader(String header) {
+        return header.trim().replace("_", "").replace("-", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class PendingRow {
+        private final long rowNumber;
+        private final Product product;
+        private String error;
+
+        PendingRow(long rowNumber, Product product, String error) {
+            this.rowNumber = rowNumber;
+            this.product = product;
+            this.error = error;
+        }
+    }
+
+    private static final class ImportReport {
+        private long totalRows;
+        private long imported;
+        private long failed;
+        private final List<Map<String, Object>> errors = new ArrayList<>();
+
+        void addError(long rowNumber, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                Map<String, Object> error = new LinkedHashMap<>();
+                error.put("row", rowNumber);
+                error.put("message", message);
+                errors.add(error);
+            }
+        }
+    }
+
+    private interface RowReader {
+        /**
+         * @return the next row, or null at end of input
+         */
+        PendingRow next() throws IOException;
+    }
+
+    /**
+     * One JSON product per line; blank lines are skipped. Row numbers are line numbers.
+     */
+    private final class NdjsonRowReader implements RowReader {
+        private final BufferedReader reader;
+        private final ObjectReader productReader = objectMapper.readerFor(Product.class);
+        private long lineNumber;
+
+        NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public PendingRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new PendingRow(lineNumber, productReader.readValue(line), null);
+                } catch (JsonProcessingException e) {
+                    return new PendingRow(lineNumber, new Product(), "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row naming Product fields (camelCase or snake_case).
+     * Quoted fields may contain commas, doubled quotes and line breaks. Row numbers
+     * count data records, starting at 1 after the header.
+     */
+    private static final class CsvRowReader implements RowReader {
+        private final Reader reader;
+        private final List<BiConsumer<Product, String>> columns = new ArrayList<>();
+        private final List<String> columnNames = new ArrayList<>();
+        private long rowNumber;
+
+        CsvRowReader(Reader reader) throws IOException {
+            this.reader = reader;
+            List<String> header = readRecord();
+            if (header == null) {
+                return;
+            }
+            for (String name : header) {
+                // Unknown columns are ignored
+                columns.add(CSV_COLUMNS.get(normalizeHeader(name)));
+                columnNames.add(name.trim());
+            }
+        }
+
+        @Override
+        public PendingRow next() throws IOException {
+            List<String> record;
+            do {
+                record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+            } while (record.size() == 1 && record.get(0).isBlank());
+
+            rowNumber++;
+            Product product = new Product();
+            for (int i = 0; i < record.size() && i < columns.size(); i++) {
+                BiConsumer<Product, String> setter = columns.get(i);
+                String value = record.get(i).trim();
+                if (setter == null || value.isEmpty()) {
+                    continue;
+                }
+                try {
+                    setter.accept(product, value);
+                } catch (NumberFormatException e) {
+                    return new PendingRow(rowNumber, product, "Invalid value for " + columnNames.get(i) + ": " + value);
+                }
+            }
+            return new PendingRow(rowNumber, product, null);
+        }
+
+        /**
+         * @return the fields of the next record, or null at end of input
+         */
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                char ch = (char) c;
+                if (quoted) {
+                    if (ch == '"') {
+                        reader.mark(1);
+                        int nextChar = reader.read();
+                        if (nextChar == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (nextChar != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append(ch);
+                    }
+                } else if (ch == '"') {
+                    quoted = true;
+                } else if (ch == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (ch == '\n') {
+                    break;
+                } else if (ch != '\r') {
+                    field.append(ch);
+                }
+            }
+            if (!any) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.Product;
+import com.ecobazaar.backend.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Product Search Service
+ *
+ * In-process inverted index over product name, description, category and
+ * store name. Each term maps to a posting list of product id -> weighted
+ * term frequency. Queries support prefix and typo-tolerant (edit distance)
+ * matching and are ranked with a TF-IDF style score, without touching MySQL.
+ *
+ * The index is rebuilt at startup and kept current by the product write paths
+ * calling {@link #indexProduct(Product)} and {@link #removeProduct(Long)}.
+ */
+@Service
+public class ProductSearchService {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    // Field weights: a hit in the name counts more than a hit in the description
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float CATEGORY_WEIGHT = 2.0f;
+    private static final float STORE_NAME_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    // Match-type multipliers applied on top of the term score
+    private static final float EXACT_MATCH = 1.0f;
+    private static final float PREFIX_MATCH = 0.6f;
+    private static final float FUZZY_MATCH = 0.4f;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (productId -> weighted term frequency), terms kept sorted for prefix lookups
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+
+    // productId -> terms, so a product can be removed from its posting lists on update/delete
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+
+    // productId -> product snapshot returned by search results
+    private final Map<Long, Product> documents = new HashMap<>();
+
+    /**
+     * Rebuild the whole index from the database once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        try {
+            long start = System.currentTimeMillis();
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                documentTerms.clear();
+                documents.clear();
+                try (Stream<Product> products = productRepository.streamAllProducts()) {
+                    products.forEach(this::addToIndex);
+                }
+                System.out.println("Product search index built: " + documents.size() + " products, "
+                    + postings.size() + " terms in " + (System.currentTimeMillis() - start) + " ms");
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (Exception e) {
+            System.err.println("Error building product search index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Add or replace a product in the index
+     */
+    public void indexProduct(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeFromIndex(product.getId());
+            addToIndex(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace several products in the index under a single lock
+     */
+    public void indexProducts(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            for (Product product : products) {
+                if (product != null && product.getId() != null) {
+                    removeFromIndex(product.getId());
+                    addToIndex(product);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a product from the index
+     */
+    public void removeProduct(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeFromIndex(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Search products by free text, best matches first
+     *
+     * @param query free text; each term also matches longer terms by prefix and near-misses by edit distance
+     * @param limit maximum number of results
+     * @return ranked products
+     */
+    public List<Product> search(String query, Integer limit) {
+        int maxResults = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int totalDocuments = Math.max(documents.size(), 1);
+            Map<Long, Float> scores = null;
+
+            // Every query term has to match (AND); a document's score is the sum of its best hits
+            for (String queryTerm : queryTerms) {
+                Map<Long, Float> termScores = new HashMap<>();
+                for (Map.Entry<String, Float> candidate : expandTerm(queryTerm).entrySet()) {
+                    Map<Long, Float> postingList = postings.get(candidate.getKey());
+                    float idf = (float) Math.log(1.0 + (double) totalDocuments / postingList.size());
+                    for (Map.Entry<Long, Float> posting : postingList.entrySet()) {
+                        float score = candidate.getValue() * idf * posting.getValue();
+                        termScores.merge(posting.getKey(), score, Math::max);
+                    }
+                }
+
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    Map<Long, Float> merged = new HashMap<>();
+                    for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+                        Float termScore = termScores.get(entry.getKey());
+                        if (termScore != null) {
+                            merged.put(entry.getKey(), entry.getValue() + termScore);
+                        }
+                    }
+                    scores = merged;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Float>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()))
+                .limit(maxResults)
+                .map(entry -> documents.get(entry.getKey()))
+                .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get index statistics
+     */
+    public Map<String, Object> getIndexStats() {
+        lock.readLock().lock();
+        try {
+            return Map.of(
+                "indexedProducts", documents.size(),
+                "indexedTerms", postings.size()
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Expand one query term into index terms with their match multipliers:
+     * the exact term, terms it is a prefix of, and terms within a small edit distance
+     */
+    private Map<String, Float> expandTerm(String queryTerm) {
+        Map<String, Float> candidates = new HashMap<>();
+
+        if (postings.containsKey(queryTerm)) {
+            candidates.put(queryTerm, EXACT_MATCH);
+        }
+
+        for (String term : postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false).keySet()) {
+            candidates.putIfAbsent(term, PREFIX_MATCH);
+        }
+
+        int maxEdits = queryTerm.length() >= 8 ? 2 : queryTerm.length() >= 4 ? 1 : 0;
+        if (maxEdits > 0) {
+            // Typos rarely hit the first character, so only scan terms sharing it
+            String first = queryTerm.substring(0, 1);
+            for (String term : postings.subMap(first, true, first + Character.MAX_VALUE, false).keySet()) {
+                if (!candidates.containsKey(term)
+                        && Math.abs(term.length() - queryTerm.length()) <= maxEdits
+                        && editDistance(queryTerm, term, maxEdits) <= maxEdits) {
+                    candidates.put(term, FUZZY_MATCH);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private void addToIndex(Product product) {
+        Map<String, Float> termWeights = new HashMap<>();
+        addField(termWeights, product.getName(), NAME_WEIGHT);
+        addField(termWeights, product.getCategory(), CATEGORY_WEIGHT);
+        addField(termWeights, product.getStoreName(), STORE_NAME_WEIGHT);
+        addField(termWeights, product.getDescription(), DESCRIPTION_WEIGHT);
+
+        for (Map.Entry<String, Float> entry : termWeights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>())
+                .put(product.getId(), entry.getValue());
+        }
+        documentTerms.put(product.getId(), new HashSet<>(termWeights.keySet()));
+        documents.put(product.getId(), product);
+    }
+
+    private void removeFromIndex(Long productId) {
+        Set<String> terms = documentTerms.remove(productId);
+        if (terms != null) {
+            for (String term : terms) {
+                Map<Long, Float> postingList = postings.get(term);
+                if (postingList != null) {
+                    postingList.remove(productId);
+                    if (postingList.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+        documents.remove(productId);
+    }
+
+    private void addField(Map<String, Float> termWeights, String text, float weight) {
+        for (String term : tokenize(text)) {
+            termWeights.merge(term, weight, Float::sum);
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Levenshtein distance with early exit once every cell in a row exceeds maxEdits
+     */
+    private static int editDistance(String a, String b, int maxEdits) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
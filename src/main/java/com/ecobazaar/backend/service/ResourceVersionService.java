@@ -0,0 +1,83 @@
+package com.ecobazaar.backend.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resource Version Service
+ *
+ * Tracks a version number and last-modified time for collections that change
+ * rarely but are fetched on every screen load (products, stores, eco challenges).
+ * Every write path bumps the version; list endpoints turn it into a strong ETag
+ * and Last-Modified header and answer matching conditional GETs with 304
+ * before touching the database.
+ */
+@Service
+public class ResourceVersionService {
+
+    public static final String PRODUCTS = "products";
+    public static final String STORES = "stores";
+    public static final String ECO_CHALLENGES = "ecoChallenges";
+
+    // Versions restart at 0 on every boot, so the boot time is part of the ETag
+    private final long bootEpoch = System.currentTimeMillis();
+
+    private final Map<String, ResourceVersion> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Record a change to a resource. Inside a transaction the bump is applied after
+     * commit, so a reader can never see a new ETag paired with old data.
+     */
+    public void bump(String resource) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versionOf(resource).increment();
+                }
+            });
+        } else {
+            versionOf(resource).increment();
+        }
+    }
+
+    /**
+     * Check If-None-Match / If-Modified-Since against the current version. Sets the
+     * ETag and Last-Modified headers, and the 304 status when the client is up to date.
+     *
+     * @return true if the handler should return without a body
+     */
+    public boolean checkNotModified(WebRequest webRequest, String resource) {
+        ResourceVersion current = versionOf(resource);
+        String eTag;
+        long lastModified;
+        synchronized (current) {
+            eTag = "\"" + resource + "-" + bootEpoch + "-" + current.version + "\"";
+            lastModified = current.lastModified;
+        }
+        return webRequest.checkNotModified(eTag, lastModified);
+    }
+
+    private ResourceVersion versionOf(String resource) {
+        return versions.computeIfAbsent(resource, key -> new ResourceVersion(bootEpoch));
+    }
+
+    private static final class ResourceVersion {
+        private long version;
+        private long lastModified;
+
+        ResourceVersion(long lastModified) {
+            this.lastModified = lastModified;
+        }
+
+        synchronized void increment() {
+            version++;
+            lastModified = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.OrderStatus;
+import com.ecobazaar.backend.entity.StoreDailySales;
+import com.ecobazaar.backend.entity.UserOrder;
+import com.ecobazaar.backend.repository.StoreDailySalesRepository;
+import com.ecobazaar.backend.repository.UserOrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sales Rollup Service
+ *
+ * Maintains store_daily_sales, one row per (storeId, day) with revenue, units
+ * and order count, so seller dashboards never read user_orders. Order writers
+ * apply deltas in their own transaction with a batched upsert; a backfill
+ * rebuilds any date range from user_orders and user_orders_archive with
+ * set-based SQL, and a nightly job rebuilds the last few days to correct drift.
+ *
+ * Cancelled lines are not counted; a line's day is the day it was created.
+ */
+@Service
+public class SalesRollupService {
+
+    public static final int DEFAULT_RANGE_DAYS = 30;
+    public static final int MAX_RANGE_DAYS = 1830;
+
+    // Days rebuilt per backfill transaction
+    private static final int BACKFILL_WINDOW_DAYS = 31;
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO store_daily_sales (store_id, sales_date, revenue, units, order_count, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+        "revenue = revenue + VALUES(revenue), units = units + VALUES(units), " +
+        "order_count = order_count + VALUES(order_count), updated_at = VALUES(updated_at)";
+
+    // Lines of archived orders count too; the range is repeated for each table
+    private static final String REBUILD_SQL =
+        "INSERT INTO store_daily_sales (store_id, sales_date, revenue, units, order_count, updated_at) " +
+        "SELECT store_id, CAST(created_at AS DATE), SUM(total_amount), SUM(quantity), COUNT(DISTINCT order_id), ? FROM (" +
+        "SELECT store_id, created_at, total_amount, quantity, order_id, order_status FROM user_orders " +
+        "WHERE created_at >= ? AND created_at < ? " +
+        "UNION ALL SELECT store_id, created_at, total_amount, quantity, order_id, order_status FROM user_orders_archive " +
+        "WHERE created_at >= ? AND created_at < ?) lines " +
+        "WHERE store_id IS NOT NULL AND store_id <> '' " +
+        "AND (order_status IS NULL OR UPPER(order_status) <> 'CANCELLED') " +
+        "GROUP BY store_id, CAST(created_at AS DATE)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserOrderRepository userOrderRepository;
+
+    @Autowired
+    private StoreDailySalesRepository storeDailySalesRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public SalesRollupService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Add newly written order lines to the rollup. Pass all lines of an order in
+     * one call so the order is counted once per store and day.
+     */
+    public void onUserOrdersCreated(Collection<UserOrder> lines) {
+        List<UserOrder> counted = new ArrayList<>();
+        for (UserOrder line : lines) {
+            if (isCounted(line.getOrderStatus())) {
+                counted.add(line);
+            }
+        }
+        applyDelta(counted, 1);
+    }
+
+    /**
+     * Set the status of every line of an order and move the lines in or out of
+     * the rollup when they become or stop being cancelled
+     *
+     * @return number of lines updated
+     */
+    @Transactional
+    public int applyOrderStatus(String orderId, String newStatus) {
+        if (orderId == null) {
+            return 0;
+        }
+        List<UserOrder> lines = userOrderRepository.findByOrderId(orderId);
+        List<UserOrder> removed = new ArrayList<>();
+        List<UserOrder> added = new ArrayList<>();
+        for (UserOrder line : lines) {
+            boolean wasCounted = isCounted(line.getOrderStatus());
+            boolean counted = isCounted(newStatus);
+            if (wasCounted && !counted) {
+                removed.add(line);
+            } else if (!wasCounted && counted) {
+                added.add(line);
+            }
+            line.setOrderStatus(newStatus);
+        }
+        userOrderRepository.saveAll(lines);
+        applyDelta(removed, -1);
+        applyDelta(added, 1);
+        return lines.size();
+    }
+
+    /**
+     * Daily series of a store, with zero rows for days without sales
+     *
+     * @return Map with storeId, from, to, totals and series
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStoreSeries(String storeId, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range must be ordered and at most " + MAX_RANGE_DAYS + " days");
+        }
+
+        Map<LocalDate, StoreDailySales> rows = new HashMap<>();
+        for (StoreDailySales row : storeDailySalesRepository.findByStoreIdAndSalesDateBetweenOrderBySalesDate(
+                storeId, start, end)) {
+            rows.put(row.getSalesDate(), row);
+        }
+
+        List<Map<String, Object>> series = new ArrayList<>();
+        double totalRevenue = 0;
+        long totalUnits = 0;
+        long totalOrders = 0;
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            StoreDailySales row = rows.get(day);
+            double revenue = row != null ? row.getRevenue() : 0.0;
+            long units = row != null ? row.getUnits() : 0L;
+            long orders = row != null ? row.getOrderCount() : 0L;
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("date", day.toString());
+            point.put("revenue", round(revenue));
+            point.put("units", units);
+            point.put("orders", orders);
+            series.add(point);
+            totalRevenue += revenue;
+            totalUnits += units;
+            totalOrders += orders;
+        }
+
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("revenue", round(totalRevenue));
+        totals.put("units", totalUnits);
+        totals.put("orders", totalOrders);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("storeId", storeId);
+        result.put("from", start.toString());
+        result.put("to", end.toString());
+        result.put("totals", totals);
+        result.put("series", series);
+        return result;
+    }
+
+    /**
+     * Rebuild the rollup for a date range from user_orders and user_orders_archive, one transaction per window
+     *
+     * @param from first day, or null for the first day with orders
+     * @param to last day, or null for today
+     * @return Map with from, to, rows and tookMs
+     */
+    public Map<String, Object> backfill(LocalDate from, LocalDate to) {
+        long start = System.currentTimeMillis();
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate first = from;
+        if (first == null) {
+            Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(created_at) FROM (SELECT MIN(created_at) AS created_at FROM user_orders " +
+                "UNION ALL SELECT MIN(created_at) FROM user_orders_archive) oldest", Timestamp.class);
+            first = oldest != null ? oldest.toLocalDateTime().toLocalDate() : end;
+        }
+
+        int rows = 0;
+        for (LocalDate windowStart = first; !windowStart.isAfter(end);
+             windowStart = windowStart.plusDays(BACKFILL_WINDOW_DAYS)) {
+            LocalDate windowEnd = windowStart.plusDays(BACKFILL_WINDOW_DAYS - 1);
+            LocalDate lastDay = windowEnd.isAfter(end) ? end : windowEnd;
+            LocalDate windowFrom = windowStart;
+            Integer written = transactionTemplate.execute(status -> {
+                jdbcTemplate.update("DELETE FROM store_daily_sales WHERE sales_date >= ? AND sales_date <= ?",
+                    Date.valueOf(windowFrom), Date.valueOf(lastDay));
+                Timestamp rangeStart = Timestamp.valueOf(windowFrom.atStartOfDay());
+                Timestamp rangeEnd = Timestamp.valueOf(lastDay.plusDays(1).atStartOfDay());
+                return jdbcTemplate.update(REBUILD_SQL, Timestamp.valueOf(LocalDateTime.now()),
+                    rangeStart, rangeEnd, rangeStart, rangeEnd);
+            });
+            rows += written != null ? written : 0;
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", first.toString());
+        result.put("to", end.toString());
+        result.put("rows", rows);
+        result.put("tookMs", System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * Rebuild everything once the current transaction commits (bulk loaders), or now if there is none
+     */
+    public void backfillAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    backfill(null, null);
+                }
+            });
+        } else {
+            backfill(null, null);
+        }
+    }
+
+    /**
+     * Nightly: rebuild the last few days to correct any drift
+     */
+    @Scheduled(cron = "${sales.rollup.rebuild-cron:0 30 2 * * *}")
+    public void rebuildRecentDays() {
+        try {
+            Map<String, Object> result = backfill(LocalDate.now().minusDays(2), LocalDate.now());
+            System.out.println("Sales rollup rebuilt: " + result);
+        } catch (Exception e) {
+            System.err.println("Error rebuilding sales rollup: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Upsert the lines' contribution (sign +1 or -1) grouped by store and day
+     */
+    private void applyDelta(List<UserOrder> lines, int sign) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        Map<String, double[]> sums = new LinkedHashMap<>();
+        Map<String, Set<String>> orders = new HashMap<>();
+        Map<String, Object[]> keys = new HashMap<>();
+        for (UserOrder line : lines) {
+            if (line.getStoreId() == null || line.getStoreId().isEmpty()) {
+                continue;
+            }
+            LocalDate day = (line.getCreatedAt() != null ? line.getCreatedAt() : LocalDateTime.now()).toLocalDate();
+            String key = line.getStoreId() + "|" + day;
+            keys.putIfAbsent(key, new Object[] { line.getStoreId(), day });
+            double[] sum = sums.computeIfAbsent(key, k -> new double[2]);
+            sum[0] += line.getTotalAmount() != null ? line.getTotalAmount() : 0.0;
+            sum[1] += line.getQuantity() != null ? line.getQuantity() : 0;
+            orders.computeIfAbsent(key, k -> new HashSet<>()).add(line.getOrderId());
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<String, double[]> entry : sums.entrySet()) {
+            Object[] key = keys.get(entry.getKey());
+            batch.add(new Object[] {
+                key[0], Date.valueOf((LocalDate) key[1]),
+                sign * entry.getValue()[0], sign * (long) entry.getValue()[1],
+                sign * (long) orders.get(entry.getKey()).size(), now
+            });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+    }
+
+    private static boolean isCounted(String status) {
+        return status == null || !OrderStatus.CANCELLED.name().equalsIgnoreCase(status);
+    }
+
+    private static double round(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
+}
@@ -0,0 +1,247 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Store Counter Service
+ *
+ * Keeps per-store product, active-product and order counts in memory. The
+ * product and order write paths report changes as deltas, changed stores are
+ * written back to stores.total_products / active_products / total_orders in
+ * one JDBC batch on a short interval, and a scheduled reconciliation recounts
+ * every store with set-based SQL to correct any drift.
+ *
+ * Live counts are served from memory through the store stats endpoint.
+ * Writing them back does not evict the stores cache or bump the STORES
+ * version, so cached store lists and their ETags survive ordinary order
+ * traffic; the counter columns in those lists may lag until the next store
+ * change.
+ */
+@Service
+public class StoreCounterService {
+
+    private static final String RECOUNT_SQL =
+        "UPDATE stores SET " +
+        "total_products = (SELECT COUNT(*) FROM products p WHERE p.store_id = stores.store_id), " +
+        "active_products = (SELECT COUNT(*) FROM products p WHERE p.store_id = stores.store_id " +
+        "AND (p.is_active IS NULL OR p.is_active = TRUE)), " +
+        "total_orders = (SELECT COUNT(DISTINCT uo.order_id) FROM user_orders uo WHERE uo.store_id = stores.store_id) " +
+        "+ (SELECT COUNT(DISTINCT ua.order_id) FROM user_orders_archive ua WHERE ua.store_id = stores.store_id)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Deltas share the read lock (counters are atomic); reconciliation takes the write lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // storeId -> counters
+    private final Map<String, StoreCounters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Recount every store once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    /**
+     * Count newly created products
+     */
+    public void productsAdded(Collection<Product> products) {
+        lock.readLock().lock();
+        try {
+            for (Product product : products) {
+                if (product != null && product.getStoreId() != null) {
+                    countersOf(product.getStoreId()).add(1, isActive(product.getIsActive()) ? 1 : 0, 0);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count a newly created product
+     */
+    public void productAdded(Product product) {
+        productsAdded(List.of(product));
+    }
+
+    /**
+     * Move a product's contribution after its store or active flag changed
+     */
+    public void productChanged(String previousStoreId, Boolean previousActive, String storeId, Boolean active) {
+        lock.readLock().lock();
+        try {
+            if (previousStoreId != null) {
+                countersOf(previousStoreId).add(-1, isActive(previousActive) ? -1 : 0, 0);
+            }
+            if (storeId != null) {
+                countersOf(storeId).add(1, isActive(active) ? 1 : 0, 0);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Uncount a deleted product
+     */
+    public void productRemoved(String storeId, Boolean active) {
+        productChanged(storeId, active, null, null);
+    }
+
+    /**
+     * Count an order containing items of the store (once per order and store)
+     */
+    public void orderPlaced(String storeId) {
+        if (storeId == null) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            countersOf(storeId).add(0, 0, 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counters of one store
+     */
+    public Map<String, Object> getStoreCounts(String storeId) {
+        StoreCounters storeCounters = counters.get(storeId);
+        Map<String, Object> counts = new LinkedHashMap<>();
+        counts.put("storeId", storeId);
+        counts.put("totalProducts", storeCounters != null ? storeCounters.products.get() : 0L);
+        counts.put("activeProducts", storeCounters != null ? storeCounters.activeProducts.get() : 0L);
+        counts.put("totalOrders", storeCounters != null ? storeCounters.orders.get() : 0L);
+        return counts;
+    }
+
+    /**
+     * Counters of every store, ordered by storeId
+     */
+    public List<Map<String, Object>> getAllStoreCounts() {
+        List<Map<String, Object>> all = new ArrayList<>();
+        for (String storeId : new TreeMap<>(counters).keySet()) {
+            all.add(getStoreCounts(storeId));
+        }
+        return all;
+    }
+
+    /**
+     * Write changed counters back to the stores table in one batch
+     */
+    @Scheduled(fixedDelayString = "${stores.counters.flush-interval-ms:30000}")
+    public void flush() {
+        try {
+            List<Object[]> batch = new ArrayList<>();
+            counters.forEach((storeId, storeCounters) -> {
+                if (storeCounters.dirty.getAndSet(false)) {
+                    batch.add(new Object[] {
+                        storeCounters.products.get(), storeCounters.activeProducts.get(),
+                        storeCounters.orders.get(), storeId
+                    });
+                }
+            });
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(
+                    "UPDATE stores SET total_products = ?, active_products = ?, total_orders = ? WHERE store_id = ?",
+                    batch);
+            }
+        } catch (Exception e) {
+            System.err.println("Error flushing store counters: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Recount all stores with set-based SQL and reload the in-memory counters
+     */
+    @Scheduled(cron = "${stores.counters.reconcile-cron:0 15 * * * *}")
+    public void reconcile() {
+        try {
+            long start = System.currentTimeMillis();
+            lock.writeLock().lock();
+            try {
+                jdbcTemplate.update(RECOUNT_SQL);
+                Map<String, StoreCounters> fresh = new ConcurrentHashMap<>();
+                jdbcTemplate.query(
+                    "SELECT store_id, total_products, active_products, total_orders FROM stores",
+                    row -> {
+                        StoreCounters storeCounters = new StoreCounters();
+                        storeCounters.products.set(row.getLong("total_products"));
+                        storeCounters.activeProducts.set(row.getLong("active_products"));
+                        storeCounters.orders.set(row.getLong("total_orders"));
+                        fresh.put(row.getString("store_id"), storeCounters);
+                    });
+                counters.clear();
+                counters.putAll(fresh);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            System.out.println("Store counters reconciled for " + counters.size() + " stores in "
+                + (System.currentTimeMillis() - start) + " ms");
+        } catch (Exception e) {
+            System.err.println("Error reconciling store counters: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reconcile once the current transaction commits (bulk loaders), or now if there is none
+     */
+    public void reconcileAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reconcile();
+                }
+            });
+        } else {
+            reconcile();
+        }
+    }
+
+    private StoreCounters countersOf(String storeId) {
+        return counters.computeIfAbsent(storeId, id -> new StoreCounters());
+    }
+
+    private static boolean isActive(Boolean active) {
+        return !Boolean.FALSE.equals(active);
+    }
+
+    private static final class StoreCounters {
+        private final AtomicLong products = new AtomicLong();
+        private final AtomicLong activeProducts = new AtomicLong();
+        private final AtomicLong orders = new AtomicLong();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+
+        void add(long productDelta, long activeDelta, long orderDelta) {
+            products.addAndGet(productDelta);
+            activeProducts.addAndGet(activeDelta);
+            orders.addAndGet(orderDelta);
+            dirty.set(true);
+        }
+    }
+}
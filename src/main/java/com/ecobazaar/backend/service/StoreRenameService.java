@@ -0,0 +1,293 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.Product;
+import com.ecobazaar.backend.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Store Rename Service
+ *
+ * Copies a store's new name into the denormalized store_name columns of
+ * products and user_orders in the background, so a store update returns
+ * immediately. Rows are walked in id order in chunks; each chunk is one
+ * set-based UPDATE in its own transaction that reads the name from the stores
+ * row itself and only touches rows whose name differs. A job therefore always
+ * writes the store's current name, never the one it was submitted with: a
+ * retried, repeated or overtaken job cannot put an older name back. A failed
+ * job retries from its last completed chunk, and a newer rename of the same
+ * store supersedes a running one, which then stops early.
+ *
+ * The latest job per store is kept in memory for progress reporting.
+ */
+@Service
+public class StoreRenameService {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+    public static final String SUPERSEDED = "SUPERSEDED";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductFacetService productFacetService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    // Proxy of this bean, so submit() reaches the @Async run()
+    @Autowired
+    @Lazy
+    private StoreRenameService self;
+
+    @Value("${stores.rename.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${stores.rename.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${stores.rename.retry-backoff-ms:2000}")
+    private long retryBackoffMs;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // storeId -> latest job of the store
+    private final Map<String, RenameJob> jobs = new ConcurrentHashMap<>();
+
+    public StoreRenameService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Queue propagation of a store's name; call after the store row is committed
+     *
+     * @return progress of the queued job
+     */
+    public Map<String, Object> submit(String storeId, String storeName) {
+        if (storeId == null || storeName == null) {
+            throw new IllegalArgumentException("storeId and storeName are required");
+        }
+        RenameJob job = new RenameJob(storeId, storeName);
+        jobs.put(storeId, job);
+        self.run(job);
+        return job.toMap();
+    }
+
+    /**
+     * Progress of the latest job of a store, or null if there is none
+     */
+    public Map<String, Object> getProgress(String storeId) {
+        RenameJob job = jobs.get(storeId);
+        return job != null ? job.toMap() : null;
+    }
+
+    /**
+     * Progress of the latest job of every store, ordered by storeId
+     */
+    public List<Map<String, Object>> getAllProgress() {
+        List<Map<String, Object>> all = new ArrayList<>();
+        new TreeMap<>(jobs).values().forEach(job -> all.add(job.toMap()));
+        return all;
+    }
+
+    /**
+     * Run a job on the async executor, retrying from the last completed chunk
+     */
+    @Async
+    public void run(RenameJob job) {
+        job.status = RUNNING;
+        job.startedAt = LocalDateTime.now();
+        try {
+            job.productsTotal = count("products", job.storeId);
+            job.orderLinesTotal = count("user_orders", job.storeId);
+            while (true) {
+                job.attempts++;
+                try {
+                    if (propagate(job)) {
+                        job.status = COMPLETED;
+                    } else {
+                        job.status = SUPERSEDED;
+                    }
+                    break;
+                } catch (Exception e) {
+                    job.error = e.getMessage();
+                    if (job.attempts >= maxAttempts) {
+                        job.status = FAILED;
+                        System.err.println("Error propagating name of store " + job.storeId + ": " + e.getMessage());
+                        break;
+                    }
+                    Thread.sleep(retryBackoffMs * job.attempts);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.status = FAILED;
+            job.error = "Interrupted";
+        } catch (Exception e) {
+            job.status = FAILED;
+            job.error = e.getMessage();
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            if (job.productsUpdated > 0) {
+                Cache products = cacheManager.getCache("products");
+                if (products != null) {
+                    products.clear();
+                }
+                resourceVersionService.bump(ResourceVersionService.PRODUCTS);
+            }
+        }
+    }
+
+    /**
+     * Walk both tables from the job's checkpoints
+     *
+     * @return false if a newer rename of the store took over
+     */
+    private boolean propagate(RenameJob job) {
+        while (!job.productsDone) {
+            if (isSuperseded(job)) {
+                return false;
+            }
+            List<Long> ids = nextChunk("products", job.storeId, job.productsLastId);
+            if (ids.isEmpty()) {
+                job.productsDone = true;
+                break;
+            }
+            job.productsUpdated += updateChunk("products", ids);
+            job.productsLastId = ids.get(ids.size() - 1);
+            job.productsScanned += ids.size();
+            reindexProducts(ids);
+        }
+        while (!job.orderLinesDone) {
+            if (isSuperseded(job)) {
+                return false;
+            }
+            List<Long> ids = nextChunk("user_orders", job.storeId, job.orderLinesLastId);
+            if (ids.isEmpty()) {
+                job.orderLinesDone = true;
+                break;
+            }
+            job.orderLinesUpdated += updateChunk("user_orders", ids);
+            job.orderLinesLastId = ids.get(ids.size() - 1);
+            job.orderLinesScanned += ids.size();
+        }
+        return true;
+    }
+
+    private List<Long> nextChunk(String table, String storeId, long afterId) {
+        return jdbcTemplate.queryForList(
+            "SELECT id FROM " + table + " WHERE store_id = ? AND id > ? ORDER BY id LIMIT ?",
+            Long.class, storeId, afterId, chunkSize);
+    }
+
+    /**
+     * One UPDATE per chunk copying the name from the stores row, skipping rows
+     * that already carry it
+     *
+     * The name is read by the UPDATE itself, so the copy and the comparison
+     * happen atomically against whatever name the store has at that moment.
+     *
+     * @return number of rows changed
+     */
+    private int updateChunk(String table, List<Long> ids) {
+        String storeName = "(SELECT s.store_name FROM stores s WHERE s.store_id = " + table + ".store_id)";
+        String sql = "UPDATE " + table + " SET store_name = " + storeName + " WHERE id IN ("
+            + String.join(",", Collections.nCopies(ids.size(), "?"))
+            + ") AND " + storeName + " IS NOT NULL AND (store_name IS NULL OR store_name <> " + storeName + ")";
+        Integer updated = transactionTemplate.execute(status -> jdbcTemplate.update(sql, ids.toArray()));
+        return updated != null ? updated : 0;
+    }
+
+    private void reindexProducts(List<Long> ids) {
+        List<Product> products = productRepository.findAllById(ids);
+        productSearchService.indexProducts(products);
+        productFacetService.indexProducts(products);
+    }
+
+    private long count(String table, String storeId) {
+        Long count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM " + table + " WHERE store_id = ?", Long.class, storeId);
+        return count != null ? count : 0L;
+    }
+
+    private boolean isSuperseded(RenameJob job) {
+        return jobs.get(job.storeId) != job;
+    }
+
+    /**
+     * Propagation of one store name; fields are written by the executing thread only
+     */
+    public static final class RenameJob {
+        private final String storeId;
+        private final String storeName;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile String status = QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile int attempts;
+        private volatile String error;
+        private volatile long productsTotal;
+        private volatile long productsScanned;
+        private volatile long productsUpdated;
+        private volatile long productsLastId;
+        private volatile boolean productsDone;
+        private volatile long orderLinesTotal;
+        private volatile long orderLinesScanned;
+        private volatile long orderLinesUpdated;
+        private volatile long orderLinesLastId;
+        private volatile boolean orderLinesDone;
+
+        RenameJob(String storeId, String storeName) {
+            this.storeId = storeId;
+            this.storeName = storeName;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("storeId", storeId);
+            map.put("storeName", storeName);
+            map.put("status", status);
+            map.put("attempts", attempts);
+            map.put("submittedAt", submittedAt.toString());
+            map.put("startedAt", startedAt != null ? startedAt.toString() : null);
+            map.put("finishedAt", finishedAt != null ? finishedAt.toString() : null);
+            map.put("productsTotal", productsTotal);
+            map.put("productsScanned", productsScanned);
+            map.put("productsUpdated", productsUpdated);
+            map.put("orderLinesTotal", orderLinesTotal);
+            map.put("orderLinesScanned", orderLinesScanned);
+            map.put("orderLinesUpdated", orderLinesUpdated);
+            map.put("error", error);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.ecobazaar.backend.repository;
+
+import com.ecobazaar.backend.entity.OrderStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs EXPLAIN on the SQL Hibernate generates for the order keyset pages and
+ * checks that each filtered listing is served by its composite index
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.ecobazaar.backend.repository.OrderRepositoryIndexTest$CapturingInspector")
+@ActiveProfiles("test")
+class OrderRepositoryIndexTest {
+
+    private static final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Pageable page = PageRequest.of(0, 51);
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final Timestamp cursorTime = Timestamp.valueOf(createdAt);
+
+    @Test
+    void userListingUsesUserCreatedIndex() {
+        assertUsesIndex("idx_orders_user_created",
+            () -> orderRepository.findFirstPageByUserId("user-1", page), "user-1", 51);
+        assertUsesIndex("idx_orders_user_created",
+            () -> orderRepository.findPageByUserIdAfterCursor("user-1", createdAt, 100L, page),
+            "user-1", cursorTime, cursorTime, 100L, 51);
+    }
+
+    @Test
+    void statusListingUsesStatusCreatedIndex() {
+        assertUsesIndex("idx_orders_status_created",
+            () -> orderRepository.findFirstPageByOrderStatus(OrderStatus.PENDING, page), "PENDING", 51);
+        assertUsesIndex("idx_orders_status_created",
+            () -> orderRepository.findPageByOrderStatusAfterCursor(OrderStatus.PENDING, createdAt, 100L, page),
+            "PENDING", cursorTime, cursorTime, 100L, 51);
+    }
+
+    @Test
+    void emailListingUsesEmailCreatedIndex() {
+        assertUsesIndex("idx_orders_email_created",
+            () -> orderRepository.findFirstPageByUserEmail("user@example.com", page), "user@example.com", 51);
+        assertUsesIndex("idx_orders_email_created",
+            () -> orderRepository.findPageByUserEmailAfterCursor("user@example.com", createdAt, 100L, page),
+            "user@example.com", cursorTime, cursorTime, 100L, 51);
+    }
+
+    /**
+     * Capture the SELECT a repository call issues and EXPLAIN it with the same parameters
+     */
+    private void assertUsesIndex(String index, Runnable query, Object... parameters) {
+        statements.clear();
+        query.run();
+        String sql = statements.stream()
+            .filter(statement -> statement.toLowerCase().startsWith("select") && statement.contains("orders"))
+            .findFirst()
+            .orElse(null);
+        assertNotNull(sql, "No orders query was captured");
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+        assertTrue(plan.toLowerCase().contains(index), "Expected " + index + " in plan:\n" + plan);
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
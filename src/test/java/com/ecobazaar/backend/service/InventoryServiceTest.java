@@ -0,0 +1,183 @@
+package com.ecobazaar.backend.service;
+
+import com.ecobazaar.backend.entity.Product;
+import com.ecobazaar.backend.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class InventoryServiceTest {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        Long productId = createProduct(10);
+        int threads = 16;
+        int attemptsPerThread = 5;
+        List<String> reserved = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger negativeReads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+
+        executor.submit(() -> {
+            start.await();
+            while (reserved.size() < 10 && !Thread.currentThread().isInterrupted()) {
+                if (rowQuantity(productId) < 0) {
+                    negativeReads.incrementAndGet();
+                }
+            }
+            return null;
+        });
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    InventoryService.Reservation reservation = inventoryService.reserve(productId, 1);
+                    if (reservation != null) {
+                        reserved.add(reservation.getId());
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(10, reserved.size());
+        assertEquals(0, negativeReads.get());
+        assertTrue(rowQuantity(productId) >= 0);
+        assertEquals(0, inventoryService.getAvailable(productId));
+
+        for (String reservationId : reserved) {
+            assertTrue(inventoryService.release(reservationId));
+        }
+        assertEquals(10, inventoryService.getAvailable(productId));
+        inventoryService.shutdown();
+        assertEquals(10, rowQuantity(productId));
+    }
+
+    @Test
+    void absoluteWriteWhileLeasedDoesNotInflateStock() {
+        Long productId = createProduct(20);
+        List<String> reserved = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            reserved.add(inventoryService.reserve(productId, 1).getId());
+        }
+        // The third reservation made the product hot, so some units are leased
+        assertTrue(rowQuantity(productId) < 16);
+        assertEquals(16, inventoryService.getAvailable(productId));
+
+        inventoryService.overwriteStock(List.of(productId),
+            () -> jdbcTemplate.update("UPDATE products SET quantity = ? WHERE id = ?", 7, productId));
+        assertEquals(7, rowQuantity(productId));
+        assertEquals(7, inventoryService.getAvailable(productId));
+
+        for (String reservationId : reserved) {
+            assertTrue(inventoryService.confirm(reservationId));
+        }
+        inventoryService.shutdown();
+        assertEquals(7, rowQuantity(productId));
+    }
+
+    @Test
+    void leasesLeftByACrashAreReturnedAtStartup() {
+        Long productId = createProduct(0);
+        // A lease of 5 units, 2 of them held by a pending reservation and 1 sold
+        jdbcTemplate.update("INSERT INTO stock_leases (product_id, lease_id, units, updated_at) " +
+            "VALUES (?, 'crashed-lease', 5, CURRENT_TIMESTAMP)", productId);
+        jdbcTemplate.update("INSERT INTO stock_reservations (reservation_id, product_id, quantity, lease_id, " +
+            "leased_units, status, created_at, expires_at) VALUES ('crashed-pending', ?, 2, 'crashed-lease', 2, " +
+            "'PENDING', CURRENT_TIMESTAMP, DATEADD('MINUTE', 10, CURRENT_TIMESTAMP))", productId);
+        jdbcTemplate.update("INSERT INTO stock_reservations (reservation_id, product_id, quantity, lease_id, " +
+            "leased_units, status, created_at, expires_at) VALUES ('crashed-sold', ?, 1, 'crashed-lease', 1, " +
+            "'CONFIRMED', CURRENT_TIMESTAMP, DATEADD('MINUTE', 10, CURRENT_TIMESTAMP))", productId);
+
+        inventoryService.reclaimLeases();
+        assertEquals(2, rowQuantity(productId));
+
+        // The pending reservation survived and now gives its units back to the row
+        assertTrue(inventoryService.release("crashed-pending"));
+        assertEquals(4, rowQuantity(productId));
+    }
+
+    @Test
+    void takeStockRollsBackWithTheCallersTransaction() {
+        Long leased = createProduct(20);
+        Long plain = createProduct(3);
+        for (int i = 0; i < 3; i++) {
+            inventoryService.reserve(leased, 1);
+        }
+        int leasedAvailable = inventoryService.getAvailable(leased);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            inventoryService.takeStock(Map.of(leased, 2, plain, 3));
+            status.setRollbackOnly();
+        });
+        assertEquals(leasedAvailable, inventoryService.getAvailable(leased));
+        assertEquals(3, inventoryService.getAvailable(plain));
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(
+            status -> inventoryService.takeStock(Map.of(leased, 2, plain, 4))));
+        assertEquals(leasedAvailable, inventoryService.getAvailable(leased));
+        assertEquals(3, inventoryService.getAvailable(plain));
+
+        transactionTemplate.executeWithoutResult(status -> inventoryService.takeStock(Map.of(leased, 2, plain, 3)));
+        assertEquals(leasedAvailable - 2, inventoryService.getAvailable(leased));
+        assertEquals(0, inventoryService.getAvailable(plain));
+    }
+
+    private Long createProduct(int quantity) {
+        Product product = new Product("Bamboo Toothbrush", "Test product", 4.99, quantity, "Personal Care");
+        product.setStoreId("test-store");
+        return productRepository.save(product).getId();
+    }
+
+    private int rowQuantity(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM products WHERE id = ?", Integer.class, productId);
+    }
+}
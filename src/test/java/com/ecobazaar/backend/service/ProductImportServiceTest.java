@@ -0,0 +1,61 @@
+package com.ecobazaar.backend.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importOfSeveralChunksLeavesNothingManaged() throws Exception {
+        int rows = 1234;
+        StringBuilder csv = new StringBuilder("name,price,quantity,storeId\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("Import Product ").append(i).append(",2.50,").append(i % 7).append(",import-store\n");
+        }
+        // A row without a store is rejected and reported, the rest of its chunk is still written
+        csv.append("Broken Product,2.50,1,\n");
+
+        // Bind one EntityManager for the whole import, as open-in-view does for a request
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            Map<String, Object> result = productImportService.importProducts(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), ProductImportService.FORMAT_CSV);
+
+            assertEquals((long) rows + 1, result.get("totalRows"));
+            assertEquals((long) rows, result.get("imported"));
+            assertEquals(1L, result.get("failed"));
+            assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+        assertEquals(rows, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM products WHERE store_id = 'import-store'", Integer.class));
+    }
+}